@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Списки бронирований арендатора и владельца вещей, по странице на вызов.
+ * Пользователи перебираются по кругу, чтобы не измерять один и тот же кэш строк.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingServiceBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+
+    @Param("20")
+    public int pageSize;
+
+    private long sequence;
+
+    @Benchmark
+    public Collection<BookingCreateResponseDto> findAllBookingsForBooker(ShareItState shareIt) {
+        return shareIt.bookingService.findAllBookingsForBooker(shareIt.userId(sequence++), state, 0, pageSize);
+    }
+
+    @Benchmark
+    public Collection<BookingCreateResponseDto> findAllBookingsForItemsOwner(ShareItState shareIt) {
+        return shareIt.bookingService.findAllBookingsForItemsOwner(shareIt.userId(sequence++), state, 0, pageSize);
+    }
+}
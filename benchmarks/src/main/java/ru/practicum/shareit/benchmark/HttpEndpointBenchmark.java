@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /bookings и GET /items через HTTP при большом числе одновременных клиентов.
+ * Пропускная способность и перцентили времени ответа (p99 в режиме sample)
+ * сравниваются между штатным пулом Tomcat и виртуальными потоками.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+@State(Scope.Thread)
+public class HttpEndpointBenchmark {
+
+    @Param("20")
+    public int pageSize;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // потоки начинают с разных пользователей, иначе все одновременно читают одни и те же строки
+        sequence = ThreadLocalRandom.current().nextInt(1_000_000);
+    }
+
+    @Benchmark
+    public String getBookings(ShareItServerState server) throws IOException, InterruptedException {
+        return server.get("/bookings?state=ALL&from=0&size=" + pageSize, server.userId(sequence++));
+    }
+
+    @Benchmark
+    public String getItems(ShareItServerState server) throws IOException, InterruptedException {
+        return server.get("/items?from=0&size=" + pageSize, server.userId(sequence++));
+    }
+}
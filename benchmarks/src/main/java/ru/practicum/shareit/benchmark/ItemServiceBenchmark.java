@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список вещей владельца с бронированиями и комментариями и поиск доступных вещей.
+ * Слова запроса берутся из словаря {@link ru.practicum.dataset.DatasetGenerator#VOCABULARY}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemServiceBenchmark {
+
+    @Param({"drill", "saw hammer"})
+    public String keyWord;
+
+    @Param("20")
+    public int pageSize;
+
+    private long sequence;
+
+    @Benchmark
+    public Collection<ItemDtoWithBooking> getAllUserItems(ShareItState shareIt) {
+        return shareIt.itemService.getAllUserItems(shareIt.userId(sequence++), null, 0, pageSize);
+    }
+
+    @Benchmark
+    public Collection<ItemDto> getAvailableItemsByKeyWord(ShareItState shareIt) {
+        return shareIt.itemService.getAvailableItemsByKeyWord(shareIt.userId(sequence++), keyWord, 0, pageSize);
+    }
+}
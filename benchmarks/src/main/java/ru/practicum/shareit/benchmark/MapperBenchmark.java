@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования сущностей в DTO без обращения к базе.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param("5")
+    public int commentsPerItem;
+
+    @Param("10")
+    public int itemsPerRequest;
+
+    private Item item;
+
+    private List<Comment> comments;
+
+    private BookingShortDto lastBooking;
+
+    private BookingShortDto nextBooking;
+
+    private Booking booking;
+
+    private ItemRequest itemRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@shareit.ru");
+        User booker = new User(2L, "booker", "booker@shareit.ru");
+
+        itemRequest = ItemRequest.builder()
+                .id(1L)
+                .requester(booker)
+                .description("нужна дрель")
+                .created(now.minusDays(1))
+                .build();
+
+        List<Item> requestItems = new ArrayList<>();
+        for (long id = 1; id <= itemsPerRequest; id++) {
+            requestItems.add(new Item(id, "drill " + id, "drill in good condition", true, owner, itemRequest));
+        }
+        itemRequest.setItems(requestItems);
+        item = requestItems.get(0);
+
+        comments = new ArrayList<>();
+        for (long id = 1; id <= commentsPerItem; id++) {
+            comments.add(new Comment(id, "комментарий " + id, item, booker, now.minusHours(id)));
+        }
+
+        lastBooking = new BookingShortDto(item.getId(), 1L, booker.getId());
+        nextBooking = new BookingShortDto(item.getId(), 2L, booker.getId());
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDtoWithBooking itemToItemDtoWithBooking() {
+        return ItemMapper.toItemDtoWithBooking(item, comments,
+                ItemMapper.toBookingMetaData(lastBooking), ItemMapper.toBookingMetaData(nextBooking));
+    }
+
+    @Benchmark
+    public BookingCreateResponseDto bookingToResponseDto() {
+        return BookingMapper.toBookingCreateResponseDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestResponseDto itemRequestToResponseDto() {
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequest);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Сервер со встроенным Tomcat на случайном порту и HTTP-клиент к нему.
+ * <p>
+ * Параметр {@code threading} выбирает, на чем Tomcat обрабатывает запросы:
+ * {@code platform} - штатный пул потоков, {@code virtual} - виртуальные потоки
+ * (нужен запуск на Java 21, например {@code -p threading=platform,virtual}).
+ */
+@State(Scope.Benchmark)
+public class ShareItServerState extends ShareItState {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Param("platform")
+    public String threading;
+
+    private HttpClient httpClient;
+
+    private URI baseUri;
+
+    @Override
+    WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    List<String> extraArguments() {
+        return List.of(
+                "--server.port=0",
+                "--shareit.virtual-threads.enabled=" + "virtual".equals(threading));
+    }
+
+    @Override
+    void onStarted() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = URI.create("http://localhost:" + port);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    String get(String pathAndQuery, long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("запрос " + pathAndQuery + " вернул статус " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.dataset.DatasetGenerator;
+import ru.practicum.dataset.DatasetSpec;
+import ru.practicum.shareit.item.service.ItemService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Контекст сервера поверх встроенной H2, общий для всех потоков бенчмарка.
+ * <p>
+ * Схема создается миграциями Flyway, как в рабочей базе, затем заполняется
+ * {@link DatasetGenerator}. Объемы данных задаются параметрами JMH,
+ * например {@code -p users=1000 -p bookingsPerItem=50}.
+ */
+@State(Scope.Benchmark)
+public class ShareItState {
+
+    @Param("100")
+    public int users;
+
+    @Param("10")
+    public double itemsPerUser;
+
+    @Param("20")
+    public int bookingsPerItem;
+
+    @Param("0.3")
+    public double commentRate;
+
+    @Param("42")
+    public long seed;
+
+    ConfigurableApplicationContext context;
+
+    BookingService bookingService;
+
+    ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        List<String> arguments = new ArrayList<>(List.of(
+                // аргументы командной строки перекрывают application.properties сервера
+                "--spring.datasource.url=jdbc:h2:mem:shareit-benchmarks;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit.benchmark=INFO",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        arguments.addAll(extraArguments());
+
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(webApplicationType())
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments.toArray(new String[0]));
+
+        DatasetSpec spec = DatasetSpec.builder()
+                .users(users)
+                .itemsPerUser(itemsPerUser)
+                .bookingsPerItem(bookingsPerItem)
+                .commentRate(commentRate)
+                .seed(seed)
+                .build();
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            new DatasetGenerator(spec, Clock.systemDefaultZone()).generate(connection);
+        }
+
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        onStarted();
+    }
+
+    WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    List<String> extraArguments() {
+        return List.of();
+    }
+
+    void onStarted() {
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    long userId(long sequence) {
+        return sequence % users + 1;
+    }
+}
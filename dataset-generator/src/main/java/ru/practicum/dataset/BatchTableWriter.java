@@ -0,0 +1,46 @@
+package ru.practicum.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Запись пакетными вставками JDBC; работает с любой базой.
+ */
+class BatchTableWriter extends TableWriter {
+
+    private final PreparedStatement statement;
+
+    BatchTableWriter(Connection connection, String table, String[] columns, int batchSize) throws SQLException {
+        super(connection, table, columns, batchSize);
+        this.statement = connection.prepareStatement("INSERT INTO " + table +
+                " (" + String.join(", ", columns) + ") VALUES (" +
+                String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+    }
+
+    @Override
+    protected void append(Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            statement.setObject(i + 1, value instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) value) : value);
+        }
+        statement.addBatch();
+    }
+
+    @Override
+    protected void flushPending() throws SQLException {
+        statement.executeBatch();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            super.close();
+        } finally {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Потоковая запись через {@code COPY ... FROM STDIN} в текстовом формате PostgreSQL.
+ * На больших объемах в разы быстрее пакетных вставок: строки не разбираются как SQL.
+ */
+class CopyTableWriter extends TableWriter {
+
+    private final CopyManager copyManager;
+
+    private final String sql;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    CopyTableWriter(Connection connection, String table, String[] columns, int batchSize) throws SQLException {
+        super(connection, table, columns, batchSize);
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+    }
+
+    @Override
+    protected void append(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+    }
+
+    @Override
+    protected void flushPending() throws SQLException {
+        try {
+            copyManager.copyIn(sql, new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("не удалось передать данные таблицы " + table + " через COPY", e);
+        }
+        buffer.setLength(0);
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+
+        String text = value instanceof LocalDateTime
+                ? Timestamp.valueOf((LocalDateTime) value).toString()
+                : value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package ru.practicum.dataset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Генератор синтетического набора данных ShareIt поверх схемы из миграций сервера.
+ * <p>
+ * Идентификаторы назначаются явно и идут подряд с единицы; после загрузки
+ * счетчики identity сдвигаются за последний id, так что сервер может работать
+ * с базой как обычно. Все случайные величины берутся из одного {@link Random}
+ * с заданным seed, время отсчитывается от {@link Clock}: одинаковые параметры
+ * и часы дают одинаковый набор.
+ * <p>
+ * Распределения приближены к рабочим: вещи сосредоточены у небольшой части
+ * пользователей, бронирования одной вещи не пересекаются во времени, статус
+ * зависит от того, в прошлом, настоящем или будущем бронирование, а комментарии
+ * оставляют только арендаторы после завершенного подтвержденного бронирования.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGenerator {
+
+    public static final String[] VOCABULARY = {
+            "drill", "saw", "hammer", "screwdriver", "ladder", "tent", "bicycle", "projector"
+    };
+
+    private static final String[] CONDITIONS = {
+            "new", "in good condition", "slightly used", "with spare parts", "professional grade"
+    };
+
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+
+    private static final double OWNER_SKEW = 3.0;
+
+    private static final double ANSWERED_REQUEST_RATE = 0.3;
+
+    private static final double UNAVAILABLE_ITEM_RATE = 0.1;
+
+    private static final int FUTURE_DAYS = 60;
+
+    private static final int MAX_BOOKING_HOURS = 24 * 7;
+
+    private static final int MAX_COMMENT_DELAY_HOURS = 72;
+
+    private static final String[] PAST_STATUSES = {"APPROVED", "REJECTED", "CANCELED"};
+    private static final int[] PAST_WEIGHTS = {80, 12, 8};
+
+    private static final String[] CURRENT_STATUSES = {"APPROVED", "CANCELED"};
+    private static final int[] CURRENT_WEIGHTS = {95, 5};
+
+    private static final String[] FUTURE_STATUSES = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+    private static final int[] FUTURE_WEIGHTS = {35, 55, 5, 5};
+
+    private final DatasetSpec spec;
+
+    private final Clock clock;
+
+    public DatasetSummary generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            prepare(connection);
+            DatasetSummary summary = fill(connection, useCopy(connection));
+            restartIdentities(connection, summary);
+            connection.commit();
+            log.info("набор данных сгенерирован: {}", summary);
+            return summary;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private DatasetSummary fill(Connection connection, boolean copy) throws SQLException {
+        Random random = new Random(spec.getSeed());
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime historyStart = now.minusDays(spec.getHistoryDays());
+        int batchSize = spec.getBatchSize();
+
+        long users = spec.getUsers();
+        long requests = Math.round(users * spec.getRequestsPerUser());
+        long items = Math.round(users * spec.getItemsPerUser());
+
+        try (TableWriter writer = TableWriter.open(connection, copy, batchSize,
+                "users", "id", "name", "email")) {
+            for (long id = 1; id <= users; id++) {
+                writer.write(id, "user" + id, "user" + id + "@shareit.example");
+            }
+        }
+        log.info("записано пользователей: {}", users);
+
+        try (TableWriter writer = TableWriter.open(connection, copy, batchSize,
+                "requests", "id", "description", "requester_id", "created")) {
+            for (long id = 1; id <= requests; id++) {
+                writer.write(id, "looking for a " + word(random),
+                        uniformUser(random, users), pastMoment(random, historyStart, now));
+            }
+        }
+        log.info("записано запросов: {}", requests);
+
+        long[] owners = new long[(int) items + 1];
+        try (TableWriter writer = TableWriter.open(connection, copy, batchSize,
+                "items", "id", "name", "description", "available", "owner_id", "request_id")) {
+            for (long id = 1; id <= items; id++) {
+                long ownerId = skewedUser(random, users);
+                owners[(int) id] = ownerId;
+
+                String word = word(random);
+                Long requestId = requests > 0 && random.nextDouble() < ANSWERED_REQUEST_RATE
+                        ? 1 + (long) random.nextInt((int) requests)
+                        : null;
+                writer.write(id, word + " " + id, word + " " + CONDITIONS[random.nextInt(CONDITIONS.length)],
+                        random.nextDouble() >= UNAVAILABLE_ITEM_RATE, ownerId, requestId);
+            }
+        }
+        log.info("записано вещей: {}", items);
+
+        long bookings = 0;
+        long comments = 0;
+        if (users > 1) {
+            try (TableWriter bookingWriter = TableWriter.open(connection, copy, batchSize,
+                    "bookings", "id", "start_date", "end_date", "item_id", "booker_id", "booking_status");
+                 TableWriter commentWriter = TableWriter.open(connection, copy, batchSize,
+                         "comments", "id", "text", "item_id", "author_id", "created")) {
+                long windowHours = ChronoUnit.HOURS.between(historyStart, now.plusDays(FUTURE_DAYS));
+
+                for (long itemId = 1; itemId <= items; itemId++) {
+                    int count = random.nextInt(2 * spec.getBookingsPerItem() + 1);
+                    if (count == 0) {
+                        continue;
+                    }
+
+                    // каждое бронирование занимает не больше половины своего слота, поэтому бронирования вещи не пересекаются
+                    long slotHours = Math.max(2, windowHours / count);
+                    for (int slot = 0; slot < count; slot++) {
+                        LocalDateTime start = historyStart.plusHours(slot * slotHours + random.nextInt((int) (slotHours / 2)));
+                        LocalDateTime end = start.plusHours(1 + random.nextInt((int) Math.min(MAX_BOOKING_HOURS, slotHours / 2)));
+                        long bookerId = otherUser(random, users, owners[(int) itemId]);
+                        String status = status(random, start, end, now);
+
+                        bookingWriter.write(bookingWriter.getWritten() + 1, start, end, itemId, bookerId, status);
+
+                        if (end.isBefore(now) && "APPROVED".equals(status) && random.nextDouble() < spec.getCommentRate()) {
+                            LocalDateTime created = end.plusHours(1 + random.nextInt(MAX_COMMENT_DELAY_HOURS));
+                            commentWriter.write(commentWriter.getWritten() + 1, "the " + word(random) + " did the job",
+                                    itemId, bookerId, created.isAfter(now) ? now : created);
+                        }
+                    }
+                }
+                bookings = bookingWriter.getWritten();
+                comments = commentWriter.getWritten();
+            }
+        }
+        log.info("записано бронирований: {}, комментариев: {}", bookings, comments);
+
+        return new DatasetSummary(users, requests, items, bookings, comments);
+    }
+
+    private void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (spec.isTruncate()) {
+                for (int i = TABLES.length - 1; i >= 0; i--) {
+                    statement.executeUpdate("DELETE FROM " + TABLES[i]);
+                }
+                connection.commit();
+                log.info("таблицы очищены перед генерацией");
+                return;
+            }
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    String message = "база уже содержит пользователей; для перезаписи включите очистку таблиц";
+                    log.error(message);
+                    throw new IllegalStateException(message);
+                }
+            }
+        }
+    }
+
+    private boolean useCopy(Connection connection) throws SQLException {
+        boolean postgres = connection.isWrapperFor(PGConnection.class);
+        switch (spec.getWriteMode()) {
+            case BATCH:
+                return false;
+            case COPY:
+                if (!postgres) {
+                    String message = "режим COPY поддерживается только для PostgreSQL";
+                    log.error(message);
+                    throw new IllegalStateException(message);
+                }
+                return true;
+            default:
+                return postgres;
+        }
+    }
+
+    private void restartIdentities(Connection connection, DatasetSummary summary) throws SQLException {
+        long[] counts = {summary.getUsers(), summary.getRequests(), summary.getItems(),
+                summary.getBookings(), summary.getComments()};
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < TABLES.length; i++) {
+                statement.execute("ALTER TABLE " + TABLES[i] + " ALTER COLUMN id RESTART WITH " + (counts[i] + 1));
+            }
+        }
+    }
+
+    private static String status(Random random, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (!end.isAfter(now)) {
+            return weighted(random, PAST_STATUSES, PAST_WEIGHTS);
+        }
+        if (start.isAfter(now)) {
+            return weighted(random, FUTURE_STATUSES, FUTURE_WEIGHTS);
+        }
+        return weighted(random, CURRENT_STATUSES, CURRENT_WEIGHTS);
+    }
+
+    private static String weighted(Random random, String[] values, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+
+        int point = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static String word(Random random) {
+        return VOCABULARY[random.nextInt(VOCABULARY.length)];
+    }
+
+    private static long uniformUser(Random random, long users) {
+        return 1 + (long) random.nextInt((int) users);
+    }
+
+    // степенное распределение: чем меньше id, тем больше у пользователя вещей
+    private static long skewedUser(Random random, long users) {
+        return 1 + (long) (users * Math.pow(random.nextDouble(), OWNER_SKEW));
+    }
+
+    private static long otherUser(Random random, long users, long userId) {
+        long other = 1 + (long) random.nextInt((int) users - 1);
+        return other >= userId ? other + 1 : other;
+    }
+
+    private static LocalDateTime pastMoment(Random random, LocalDateTime from, LocalDateTime to) {
+        return from.plusMinutes((long) (random.nextDouble() * ChronoUnit.MINUTES.between(from, to)));
+    }
+}
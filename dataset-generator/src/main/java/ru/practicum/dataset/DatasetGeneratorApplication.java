@@ -0,0 +1,16 @@
+package ru.practicum.dataset;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+@SpringBootApplication
+public class DatasetGeneratorApplication {
+
+    public static void main(String[] args) {
+        // собственное имя файла настроек, чтобы не конфликтовать с application.properties сервера в общем classpath
+        new SpringApplicationBuilder(DatasetGeneratorApplication.class)
+                .properties("spring.config.name=dataset-generator")
+                .run(args);
+    }
+
+}
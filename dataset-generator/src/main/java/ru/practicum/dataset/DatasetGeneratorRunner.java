@@ -0,0 +1,53 @@
+package ru.practicum.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
+
+@Component
+@Slf4j
+public class DatasetGeneratorRunner implements CommandLineRunner {
+
+    private final DataSource dataSource;
+
+    private final DatasetSpec spec;
+
+    public DatasetGeneratorRunner(DataSource dataSource,
+                                  @Value("${shareit.dataset.users}") int users,
+                                  @Value("${shareit.dataset.items-per-user}") double itemsPerUser,
+                                  @Value("${shareit.dataset.requests-per-user}") double requestsPerUser,
+                                  @Value("${shareit.dataset.bookings-per-item}") int bookingsPerItem,
+                                  @Value("${shareit.dataset.comment-rate}") double commentRate,
+                                  @Value("${shareit.dataset.history-days}") int historyDays,
+                                  @Value("${shareit.dataset.seed}") long seed,
+                                  @Value("${shareit.dataset.batch-size}") int batchSize,
+                                  @Value("${shareit.dataset.write-mode}") WriteMode writeMode,
+                                  @Value("${shareit.dataset.truncate}") boolean truncate) {
+        this.dataSource = dataSource;
+        this.spec = DatasetSpec.builder()
+                .users(users)
+                .itemsPerUser(itemsPerUser)
+                .requestsPerUser(requestsPerUser)
+                .bookingsPerItem(bookingsPerItem)
+                .commentRate(commentRate)
+                .historyDays(historyDays)
+                .seed(seed)
+                .batchSize(batchSize)
+                .writeMode(writeMode)
+                .truncate(truncate)
+                .build();
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("генерация набора данных: {}", spec);
+        try (Connection connection = dataSource.getConnection()) {
+            new DatasetGenerator(spec, Clock.systemDefaultZone()).generate(connection);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.dataset;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Объемы и параметры генерируемого набора данных.
+ * Средние значения на пользователя и вещь допускают дробные значения.
+ */
+@Getter
+@Builder
+@ToString
+public class DatasetSpec {
+    @Builder.Default
+    private final int users = 1000;
+
+    @Builder.Default
+    private final double itemsPerUser = 2.0;
+
+    @Builder.Default
+    private final double requestsPerUser = 0.5;
+
+    @Builder.Default
+    private final int bookingsPerItem = 10;
+
+    /**
+     * Доля завершенных подтвержденных бронирований, после которых арендатор оставил комментарий.
+     */
+    @Builder.Default
+    private final double commentRate = 0.3;
+
+    @Builder.Default
+    private final int historyDays = 365;
+
+    @Builder.Default
+    private final long seed = 42;
+
+    @Builder.Default
+    private final int batchSize = 5000;
+
+    @Builder.Default
+    private final WriteMode writeMode = WriteMode.AUTO;
+
+    /**
+     * Очищать таблицы перед генерацией; без этого флага непустая база считается ошибкой.
+     */
+    @Builder.Default
+    private final boolean truncate = false;
+}
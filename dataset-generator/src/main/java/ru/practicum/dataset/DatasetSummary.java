@@ -0,0 +1,20 @@
+package ru.practicum.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class DatasetSummary {
+    private final long users;
+
+    private final long requests;
+
+    private final long items;
+
+    private final long bookings;
+
+    private final long comments;
+}
@@ -0,0 +1,71 @@
+package ru.practicum.dataset;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Построчная запись в таблицу, сбрасываемая в базу пачками по {@code batchSize} строк.
+ * Каждая пачка фиксируется отдельной транзакцией, чтобы объем незафиксированных
+ * данных не рос вместе с размером набора.
+ */
+abstract class TableWriter implements AutoCloseable {
+
+    protected final Connection connection;
+
+    protected final String table;
+
+    protected final String[] columns;
+
+    private final int batchSize;
+
+    private int pending;
+
+    private long written;
+
+    protected TableWriter(Connection connection, String table, String[] columns, int batchSize) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.batchSize = batchSize;
+    }
+
+    static TableWriter open(Connection connection, boolean copy, int batchSize,
+                            String table, String... columns) throws SQLException {
+        return copy
+                ? new CopyTableWriter(connection, table, columns, batchSize)
+                : new BatchTableWriter(connection, table, columns, batchSize);
+    }
+
+    void write(Object... values) throws SQLException {
+        append(values);
+        pending++;
+        written++;
+
+        if (pending >= batchSize) {
+            flush();
+        }
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+
+    protected abstract void append(Object[] values) throws SQLException;
+
+    protected abstract void flushPending() throws SQLException;
+
+    private void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+
+        flushPending();
+        connection.commit();
+        pending = 0;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.dataset;
+
+public enum WriteMode {
+    AUTO,
+    BATCH,
+    COPY
+}
@@ -0,0 +1,192 @@
+package ru.practicum.dataset;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private static final DatasetSpec SPEC = DatasetSpec.builder()
+            .users(50)
+            .itemsPerUser(3)
+            .requestsPerUser(1)
+            .bookingsPerItem(6)
+            .commentRate(0.5)
+            .historyDays(90)
+            .batchSize(64)
+            .build();
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void generate_withSameSeedAndClock_shouldProduceSameRows() throws SQLException {
+        Connection first = migratedDatabase();
+        Connection second = migratedDatabase();
+
+        new DatasetGenerator(SPEC, CLOCK).generate(first);
+        new DatasetGenerator(SPEC, CLOCK).generate(second);
+
+        for (String table : List.of("users", "requests", "items", "bookings", "comments")) {
+            assertThat(dump(second, table)).isEqualTo(dump(first, table));
+        }
+    }
+
+    @Test
+    void generate_shouldWriteRequestedVolumes() throws SQLException {
+        Connection connection = migratedDatabase();
+
+        DatasetSummary summary = new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        assertThat(summary.getUsers()).isEqualTo(50);
+        assertThat(summary.getItems()).isEqualTo(150);
+        assertThat(summary.getRequests()).isEqualTo(50);
+        assertThat(summary.getBookings()).isPositive();
+        assertThat(summary.getComments()).isPositive();
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings")).isEqualTo(summary.getBookings());
+        assertThat(count(connection, "SELECT COUNT(*) FROM comments")).isEqualTo(summary.getComments());
+    }
+
+    @Test
+    void generate_shouldProduceEveryBookingState() throws SQLException {
+        Connection connection = migratedDatabase();
+
+        new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        String now = "TIMESTAMP '2030-01-01 12:00:00'";
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings WHERE end_date < " + now)).isPositive();
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings WHERE start_date > " + now)).isPositive();
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings " +
+                "WHERE start_date <= " + now + " AND end_date >= " + now)).isPositive();
+        assertThat(count(connection, "SELECT COUNT(DISTINCT booking_status) FROM bookings")).isEqualTo(4);
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings " +
+                "WHERE booking_status = 'WAITING' AND start_date < " + now)).isZero();
+    }
+
+    @Test
+    void generate_shouldNotOverlapBookingsOfSameItem() throws SQLException {
+        Connection connection = migratedDatabase();
+
+        new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings b1 JOIN bookings b2 " +
+                "ON b1.item_id = b2.item_id AND b1.id < b2.id " +
+                "AND b1.start_date < b2.end_date AND b1.end_date > b2.start_date")).isZero();
+    }
+
+    @Test
+    void generate_shouldCommentOnlyAfterFinishedApprovedBooking() throws SQLException {
+        Connection connection = migratedDatabase();
+
+        new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        assertThat(count(connection, "SELECT COUNT(*) FROM comments c WHERE NOT EXISTS (" +
+                "SELECT 1 FROM bookings b WHERE b.item_id = c.item_id AND b.booker_id = c.author_id " +
+                "AND b.booking_status = 'APPROVED' AND b.end_date <= c.created)")).isZero();
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id " +
+                "WHERE b.booker_id = i.owner_id")).isZero();
+    }
+
+    @Test
+    void generate_shouldRestartIdentityAfterLastGeneratedId() throws SQLException {
+        Connection connection = migratedDatabase();
+
+        new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (name, email) VALUES ('new', 'new@shareit.example')");
+        }
+        assertThat(count(connection, "SELECT id FROM users WHERE email = 'new@shareit.example'")).isEqualTo(51);
+    }
+
+    @Test
+    void generate_whenDatabaseIsNotEmpty_shouldFailUnlessTruncateEnabled() throws SQLException {
+        Connection connection = migratedDatabase();
+        new DatasetGenerator(SPEC, CLOCK).generate(connection);
+
+        assertThatThrownBy(() -> new DatasetGenerator(SPEC, CLOCK).generate(connection))
+                .isInstanceOf(IllegalStateException.class);
+
+        DatasetSpec truncating = DatasetSpec.builder()
+                .users(10)
+                .truncate(true)
+                .build();
+        DatasetSummary summary = new DatasetGenerator(truncating, CLOCK).generate(connection);
+
+        assertThat(count(connection, "SELECT COUNT(*) FROM users")).isEqualTo(10);
+        assertThat(count(connection, "SELECT COUNT(*) FROM bookings")).isEqualTo(summary.getBookings());
+    }
+
+    @Test
+    void generate_whenCopyModeOnNonPostgres_shouldFail() throws SQLException {
+        Connection connection = migratedDatabase();
+        DatasetSpec copy = DatasetSpec.builder()
+                .users(10)
+                .writeMode(WriteMode.COPY)
+                .build();
+
+        assertThatThrownBy(() -> new DatasetGenerator(copy, CLOCK).generate(connection))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count(connection, "SELECT COUNT(*) FROM users")).isZero();
+    }
+
+    private Connection migratedDatabase() throws SQLException {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "shareit", "shareit")
+                .locations("filesystem:../server/src/main/resources/db/migration")
+                .load()
+                .migrate();
+
+        Connection connection = DriverManager.getConnection(url, "shareit", "shareit");
+        connections.add(connection);
+        return connection;
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static List<String> dump(Connection connection, String table) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM " + table + " ORDER BY id")) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(resultSet.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -11,88 +13,211 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+/**
+ * Базовый клиент сервера. Ответ всегда возвращается как {@link Mono}: в режиме
+ * {@link ClientMode#BLOCKING} запрос выполняется RestTemplate в момент подписки,
+ * то есть в потоке обработки запроса, а в режиме {@link ClientMode#REACTIVE}
+ * отправляется через WebClient без блокировки потока.
+ * <p>
+ * При включенном {@link GatewayResponseCache} успешные ответы на GET берутся из кэша,
+ * а любой другой запрос вытесняет из него записи затронутых семейств ресурсов. Одинаковые
+ * одновременные GET-запросы объединяются {@link RequestCoalescer} в один запрос к серверу
+ * (для поиска вещей - независимо от пользователя),
+ * а сам запрос к серверу проходит через {@link ServerCallGuard} своего API.
+ */
 public class BaseClient {
+    // служебные заголовки сервера (статистика SQL), которые не должны уходить клиентам шлюза
+    static final List<String> INTERNAL_HEADERS = List.of("X-Sql-Statements", "X-Sql-Time-Ms");
+
+    // ответ на эти GET не зависит от пользователя, поэтому ключ кэша и объединения строится без X-Sharer-User-Id;
+    // проверку пользователя на сервере проходит только запрос, который действительно ушел на сервер
+    static final Set<String> USER_INDEPENDENT_PATHS = Set.of("/items/search");
+
+    @Nullable
     protected final RestTemplate rest;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    @Nullable
+    protected final WebClient webClient;
+
+    /**
+     * Отдавать тело ответа сервера как есть, без разбора в объекты и повторной сериализации.
+     */
+    private final boolean passthrough;
+
+    private final String apiPrefix;
+
+    private final GatewayResponseCache responseCache;
+
+    private final RequestCoalescer coalescer;
+
+    private final ServerCallGuard guard;
+
+    public BaseClient(ShareItServerTransport transport, String apiPrefix) {
+        boolean reactive = transport.getMode() == ClientMode.REACTIVE;
+        this.rest = reactive ? null : transport.restTemplate(apiPrefix);
+        this.webClient = reactive ? transport.webClient(apiPrefix) : null;
+        this.passthrough = transport.isPassthrough();
+        this.apiPrefix = apiPrefix;
+        this.responseCache = transport.getResponseCache();
+        this.coalescer = transport.getCoalescer();
+        this.guard = transport.getGuards().forApi(apiPrefix);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (!responseCache.isEnabled() && !(coalescer.isEnabled() && method == HttpMethod.GET)) {
+            return send(method, path, userId, parameters, body);
+        }
+
+        UriComponents uri = UriComponentsBuilder.fromUriString(apiPrefix + path)
+                .encode()
+                .buildAndExpand(parameters != null ? parameters : Map.of());
+        String resourcePath = uri.getPath();
+
+        if (method != HttpMethod.GET) {
+            return send(method, path, userId, parameters, body)
+                    .doFinally(signal -> responseCache.invalidate(resourcePath));
+        }
+
+        boolean shared = USER_INDEPENDENT_PATHS.contains(resourcePath);
+        String key = GatewayResponseCache.key(resourcePath, shared ? null : userId, uri.getQuery());
+        Supplier<Mono<ResponseEntity<Object>>> upstream = () -> sendCacheable(key, resourcePath, method, path, userId, parameters);
+        if (coalescer.isEnabled()) {
+            // чужой ответ с ошибкой (например, о неизвестном пользователе) не годится, за ним идут сами
+            return coalescer.coalesce(key, upstream, response -> !shared || response.getStatusCode().is2xxSuccessful());
+        }
+        return Mono.defer(upstream);
+    }
+
+    private Mono<ResponseEntity<Object>> sendCacheable(String key, String resourcePath, HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (!responseCache.isEnabled()) {
+            return send(method, path, userId, parameters, null);
+        }
+
+        ResponseEntity<Object> cached = responseCache.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long generation = responseCache.generation();
+        return send(method, path, userId, parameters, null)
+                .doOnNext(response -> responseCache.put(key, resourcePath, response, generation));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return guard.call(() -> {
+            if (webClient != null) {
+                return sendReactive(method, path, userId, parameters, body);
+            }
+            return Mono.fromCallable(() -> sendBlocking(method, path, userId, parameters, body));
+        });
+    }
+
+    private <T> ResponseEntity<Object> sendBlocking(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            if (passthrough) {
+                return preparePassthroughResponse(exchange(path, method, requestEntity, byte[].class, parameters));
             }
+            return prepareGatewayResponse(exchange(path, method, requestEntity, Object.class, parameters));
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+            if (passthrough && e.getResponseHeaders() != null && e.getResponseHeaders().getContentType() != null) {
+                responseBuilder.contentType(e.getResponseHeaders().getContentType());
+            }
+            return responseBuilder.body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                              Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendReactive(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(this::prepareReactiveResponse);
+    }
+
+    // ответы с ошибкой, как и в блокирующем режиме, отдаются байтами без разбора
+    private Mono<ResponseEntity<Object>> prepareReactiveResponse(ClientResponse response) {
+        if (!passthrough && response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class).map(BaseClient::prepareGatewayResponse);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return response.toEntity(byte[].class).map(BaseClient::preparePassthroughResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,9 +230,15 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            if (INTERNAL_HEADERS.stream().noneMatch(response.getHeaders()::containsKey)) {
+                return response;
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            INTERNAL_HEADERS.forEach(headers::remove);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -118,4 +249,20 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    // байты тела уходят клиенту через ByteArrayHttpMessageConverter, поэтому тип содержимого нужно перенести явно
+    private static ResponseEntity<Object> preparePassthroughResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.client;
+
+public enum ClientMode {
+    /**
+     * RestTemplate поверх общего пула HttpComponents; поток Tomcat ждет ответа сервера.
+     */
+    BLOCKING,
+    /**
+     * WebClient поверх Reactor Netty; поток Tomcat освобождается до прихода ответа сервера.
+     */
+    REACTIVE
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ограниченный LRU-кэш успешных ответов сервера на GET-запросы с коротким временем жизни.
+ * <p>
+ * Ключ - путь, идентификатор пользователя из X-Sharer-User-Id и строка запроса.
+ * Изменяющий запрос, прошедший через шлюз, вытесняет записи целыми семействами
+ * ресурсов (первый сегмент пути): из пути PATCH /bookings/{id} не видно, какой вещи
+ * касается бронирование, поэтому сбрасываются все /bookings и все /items - последнее
+ * и следующее бронирование, свободные интервалы. Семейства, чьи ответы включают
+ * данные другого семейства, перечислены в {@link #DEPENDENT_FAMILIES}; изменение
+ * неизвестного семейства сбрасывает кэш целиком. Изменения, сделанные в обход шлюза,
+ * видны не позже чем через время жизни записи.
+ */
+@Component
+@Slf4j
+public class GatewayResponseCache {
+
+    private static final String METRIC_NAME = "shareit.gateway.response.cache";
+
+    /**
+     * Семейства, записи которых устаревают при изменении ключевого: бронирование меняет
+     * последнее/следующее бронирование и свободные интервалы вещи, вещь входит в ответы
+     * бронирований и запросов, а пользователь - в ответы бронирований, и при удалении
+     * вместе с ним уходят его вещи и бронирования.
+     */
+    static final Map<String, Set<String>> DEPENDENT_FAMILIES = Map.of(
+            "/bookings", Set.of("/bookings", "/items"),
+            "/items", Set.of("/items", "/bookings", "/requests"),
+            "/requests", Set.of("/requests"),
+            "/users", Set.of("/users", "/items", "/bookings", "/requests")
+    );
+
+    private final long ttlNanos;
+
+    private final Map<String, Entry> entries;
+
+    // растет при каждом вытеснении, чтобы ответ, полученный до изменения, не попал в кэш после него
+    private long generation;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter invalidations;
+
+    public GatewayResponseCache(MeterRegistry meterRegistry,
+                                @Value("${shareit-server.cache.ttl-ms:0}") long ttlMs,
+                                @Value("${shareit-server.cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder(METRIC_NAME + ".invalidations")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", this, GatewayResponseCache::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    static String key(String path, @Nullable Long userId, @Nullable String query) {
+        return path + (query != null ? "?" + query : "") + "#" + userId;
+    }
+
+    @Nullable
+    ResponseEntity<Object> get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.response;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    void put(String key, String path, ResponseEntity<Object> response, long generation) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return;
+        }
+
+        synchronized (entries) {
+            if (this.generation == generation) {
+                entries.put(key, new Entry(path, response, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    void invalidate(String path) {
+        int removed;
+        synchronized (entries) {
+            generation++;
+            int before = entries.size();
+            Set<String> affected = DEPENDENT_FAMILIES.get(family(path));
+            if (affected == null) {
+                entries.clear();
+            } else {
+                entries.values().removeIf(entry -> affected.contains(family(entry.path)));
+            }
+            removed = before - entries.size();
+        }
+
+        invalidations.increment();
+        log.debug("изменение {} вытеснило из кэша ответов записей: {}", path, removed);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String family(String path) {
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path : path.substring(0, end);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final String path;
+        private final ResponseEntity<Object> response;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий для всех клиентов пул keep-alive соединений с сервером.
+ * <p>
+ * Все запросы шлюза идут на один адрес, поэтому лимит на маршрут обычно
+ * совпадает с общим лимитом. Простаивающие и закрытые сервером соединения
+ * вытесняются фоновым потоком клиента, а перед повторным использованием
+ * соединение, простоявшее дольше {@code validate-after-inactivity-ms}, проверяется.
+ * <p>
+ * В реактивном режиме те же лимиты и таймауты применяются к пулу Reactor Netty,
+ * через который WebClient обращается к серверу.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+            @Value("${shareit-server.http.max-connections}") int maxConnections,
+            @Value("${shareit-server.http.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.http.validate-after-inactivity-ms}") int validateAfterInactivityMs,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(
+            PoolingHttpClientConnectionManager shareItServerConnectionManager,
+            @Value("${shareit-server.http.connect-timeout-ms}") int connectTimeoutMs,
+            @Value("${shareit-server.http.connection-request-timeout-ms}") int connectionRequestTimeoutMs,
+            @Value("${shareit-server.http.read-timeout-ms}") int readTimeoutMs,
+            @Value("${shareit-server.http.idle-eviction-ms}") long idleEvictionMs,
+            @Value("${shareit-server.http.keep-alive-ms}") long keepAliveMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setConnectionRequestTimeout(connectionRequestTimeoutMs)
+                .setSocketTimeout(readTimeoutMs)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(shareItServerConnectionManager)
+                // пул принадлежит контексту и закрывается им, а не клиентом
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig)
+                // сервер не присылает Keep-Alive: timeout, поэтому без явного срока соединения живут бессрочно
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictionMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.http.max-connections}") int maxConnections,
+            @Value("${shareit-server.http.connection-request-timeout-ms}") long connectionRequestTimeoutMs,
+            @Value("${shareit-server.http.idle-eviction-ms}") long idleEvictionMs,
+            @Value("${shareit-server.http.keep-alive-ms}") long keepAliveMs) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(connectionRequestTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(idleEvictionMs))
+                .maxLifeTime(Duration.ofMillis(keepAliveMs))
+                .evictInBackground(Duration.ofMillis(idleEvictionMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+    public ClientHttpConnector shareItServerHttpConnector(
+            ConnectionProvider shareItServerConnectionProvider,
+            @Value("${shareit-server.http.connect-timeout-ms}") int connectTimeoutMs,
+            @Value("${shareit-server.http.read-timeout-ms}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET-запросов: пока запрос к серверу
+ * с тем же ключом выполняется, остальные вызовы подписываются на его результат
+ * вместо отправки собственного. После ответа запись снимается, и следующий
+ * вызов снова идет на сервер (или в {@link GatewayResponseCache}).
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final String METRIC_NAME = "shareit.gateway.coalescing";
+
+    @Getter
+    private final boolean enabled;
+
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${shareit-server.coalescing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "upstream")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    Mono<ResponseEntity<Object>> coalesce(String key, Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        return coalesce(key, upstream, response -> true);
+    }
+
+    /**
+     * Как {@link #coalesce(String, Supplier)}, но вызов, присоединившийся к чужому запросу,
+     * получает его ответ, только если тот проходит {@code shareable}; иначе отправляет свой запрос.
+     */
+    Mono<ResponseEntity<Object>> coalesce(String key, Supplier<Mono<ResponseEntity<Object>>> upstream,
+                                          Predicate<ResponseEntity<Object>> shareable) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                // новая запись не появится, пока старая в таблице, поэтому снимается именно своя
+                return upstream.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+
+            if (leader[0]) {
+                leaders.increment();
+                return shared;
+            }
+            coalesced.increment();
+            return shared.flatMap(response -> shareable.test(response) ? Mono.just(response) : upstream.get());
+        });
+    }
+}
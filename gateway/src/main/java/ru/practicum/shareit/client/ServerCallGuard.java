@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Изоляция вызовов одного API сервера: ограничение числа одновременных вызовов
+ * (bulkhead) и выключатель. Когда вызов нельзя выполнить, он сразу завершается
+ * {@link ServerUnavailableException}, не занимая поток и соединение, поэтому
+ * медленный /bookings не выбирает пул целиком и не роняет остальные API.
+ * <p>
+ * Неудачей считаются ошибки транспорта (таймауты, отказ в соединении) и ответы 5xx,
+ * ответы 4xx - штатная работа сервера.
+ * <p>
+ * Разомкнутый выключатель отображается собственным статусом {@link #CIRCUIT_OPEN}, а не DOWN:
+ * агрегатор здоровья не учитывает неизвестные ему статусы, поэтому отказ одного API
+ * не переводит весь шлюз в DOWN и не приводит к его перезапуску или выводу из балансировки.
+ */
+@Slf4j
+public class ServerCallGuard implements HealthIndicator {
+
+    static final Status CIRCUIT_OPEN = new Status("CIRCUIT_OPEN", "выключатель разомкнут, вызовы API отклоняются");
+
+    @Getter
+    private final String api;
+
+    private final Semaphore bulkhead;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter rejectedByCircuit;
+
+    private final Counter rejectedByBulkhead;
+
+    ServerCallGuard(String api, int maxConcurrentCalls, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.api = api;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+        this.rejectedByCircuit = Counter.builder("shareit.gateway.server-calls.rejected")
+                .tag("api", api)
+                .tag("reason", "circuit-open")
+                .register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("shareit.gateway.server-calls.rejected")
+                .tag("api", api)
+                .tag("reason", "bulkhead-full")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 - CLOSED, 1 - HALF_OPEN, 2 - OPEN")
+                .tag("api", api)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("api", api)
+                .register(meterRegistry);
+    }
+
+    Mono<ResponseEntity<Object>> call(Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedByCircuit.increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(circuitBreaker.getRemainingOpenNanos()));
+                return Mono.error(new ServerUnavailableException(
+                        "сервер временно недоступен для /" + api + ": выключатель разомкнут", retryAfterSeconds));
+            }
+
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                rejectedByBulkhead.increment();
+                return Mono.error(new ServerUnavailableException(
+                        "превышено число одновременных запросов к /" + api, 1));
+            }
+
+            return upstream.get()
+                    .doOnSuccess(response -> onResult(response == null || !response.getStatusCode().is5xxServerError()))
+                    .doOnError(e -> onResult(false))
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    @Override
+    public Health health() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        Health.Builder builder = state == CircuitBreaker.State.OPEN ? Health.status(CIRCUIT_OPEN) : Health.up();
+        return builder
+                .withDetail("state", state)
+                .withDetail("failureRate", circuitBreaker.getFailureRate())
+                .withDetail("availableConcurrentCalls", bulkhead.availablePermits())
+                .build();
+    }
+
+    private void onResult(boolean success) {
+        CircuitBreaker.State before = circuitBreaker.getState();
+        circuitBreaker.onResult(success);
+        CircuitBreaker.State after = circuitBreaker.getState();
+        if (before != after) {
+            log.warn("выключатель вызовов /{} перешел из {} в {}", api, before, after);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ServerCallGuard} для каждого API сервера (items, bookings, users, requests)
+ * с общими настройками. Состояние выключателей видно в /actuator/health/shareitServer;
+ * группы liveness и readiness его не включают.
+ */
+@Component("shareitServerHealthContributor")
+public class ServerCallGuards implements CompositeHealthContributor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxConcurrentCalls;
+
+    private final int slidingWindowSize;
+
+    private final int minimumCalls;
+
+    private final int failureRateThreshold;
+
+    private final long openDurationMs;
+
+    private final int halfOpenCalls;
+
+    private final Map<String, ServerCallGuard> guards = new ConcurrentHashMap<>();
+
+    public ServerCallGuards(MeterRegistry meterRegistry,
+                            @Value("${shareit-server.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls,
+                            @Value("${shareit-server.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+                            @Value("${shareit-server.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                            @Value("${shareit-server.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                            @Value("${shareit-server.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+                            @Value("${shareit-server.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    ServerCallGuard forApi(String apiPrefix) {
+        String api = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        return guards.computeIfAbsent(api, name -> new ServerCallGuard(name, maxConcurrentCalls,
+                new CircuitBreaker(slidingWindowSize, minimumCalls, failureRateThreshold,
+                        TimeUnit.MILLISECONDS.toNanos(openDurationMs), halfOpenCalls),
+                meterRegistry));
+    }
+
+    @Override
+    public HealthContributor getContributor(String name) {
+        return guards.get(name);
+    }
+
+    @Override
+    public Iterator<NamedContributor<HealthContributor>> iterator() {
+        return guards.values().stream()
+                .map(guard -> NamedContributor.<HealthContributor>of(guard.getApi(), guard))
+                .iterator();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+/**
+ * Общие настройки обращения клиентов шлюза к серверу: адрес, режим работы,
+ * кэш ответов, объединение одинаковых запросов, изоляция отказов и транспорт, из которого каждый клиент строит себе RestTemplate или WebClient
+ * со своим префиксом API.
+ */
+@Component
+public class ShareItServerTransport {
+
+    private final String serverUrl;
+
+    private final RestTemplateBuilder restTemplateBuilder;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    private final WebClient.Builder webClientBuilder;
+
+    @Getter
+    private final ClientMode mode;
+
+    @Getter
+    private final boolean passthrough;
+
+    @Getter
+    private final GatewayResponseCache responseCache;
+
+    @Getter
+    private final RequestCoalescer coalescer;
+
+    @Getter
+    private final ServerCallGuards guards;
+
+    public ShareItServerTransport(@Value("${shareit-server.url}") String serverUrl,
+                                  RestTemplateBuilder restTemplateBuilder,
+                                  ClientHttpRequestFactory requestFactory,
+                                  WebClient.Builder webClientBuilder,
+                                  @Value("${shareit-server.client-mode}") ClientMode mode,
+                                  @Value("${shareit-server.passthrough}") boolean passthrough,
+                                  GatewayResponseCache responseCache,
+                                  RequestCoalescer coalescer,
+                                  ServerCallGuards guards) {
+        this.serverUrl = serverUrl;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.mode = mode;
+        this.passthrough = passthrough;
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.guards = guards;
+    }
+
+    RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    WebClient webClient(String apiPrefix) {
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .build();
+    }
+}
@@ -2,14 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.Constants.USER_HEADER;
 
@@ -22,48 +25,60 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_HEADER) Long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_HEADER) Long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         log.info("POST запрос на создание новой вещи: {} от пользователя c id: {}", itemDto, userId);
         return itemClient.create(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(USER_HEADER) Long userId,
-                                         @RequestBody ItemDto itemDto,
-                                         @PathVariable("itemId") Long itemId) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(USER_HEADER) Long userId,
+                                               @RequestBody ItemDto itemDto,
+                                               @PathVariable("itemId") Long itemId) {
         log.info("PATCH запрос на обновление вещи id: {} пользователя c id: {}", itemId, userId);
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@RequestHeader(USER_HEADER) Long userId,
-                                      @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> get(@RequestHeader(USER_HEADER) Long userId,
+                                            @PathVariable Long itemId) {
         log.info("GET запрос на получение вещи c id: {}", itemId);
         return itemClient.get(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(USER_HEADER) Long userId,
-                                         @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                         @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        log.info("GET запрос на получение всех вещей пользователя c id: {}", userId);
-        return itemClient.getAll(userId, from, size);
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(USER_HEADER) Long userId,
+                                               @RequestParam(value = "afterId", required = false) @Min(0) Long afterId,
+                                               @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+                                               @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        log.info("GET запрос на получение всех вещей пользователя c id: {}, afterId={}", userId, afterId);
+        return itemClient.getAll(userId, afterId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader(USER_HEADER) Long userId,
-                                              @RequestParam(name = "text") String text,
-                                              @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                              @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader(USER_HEADER) Long userId,
+                                                    @RequestParam(name = "text") String text,
+                                                    @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+                                                    @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
         log.info("GET запрос на поиск всех вещей c текстом: {}", text);
         return itemClient.searchItems(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(USER_HEADER) Long userId,
-                                                @Validated @RequestBody CommentDto commentDto,
-                                                @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(USER_HEADER) Long userId,
+                                                      @Validated @RequestBody CommentDto commentDto,
+                                                      @PathVariable Long itemId) {
         return itemClient.createComment(userId, commentDto, itemId);
     }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(USER_HEADER) Long userId,
+                                                        @PathVariable Long itemId,
+                                                        @RequestParam(name = "from")
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam(name = "to")
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET запрос на получение занятости вещи c id: {} с {} по {}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.Constants.USER_HEADER;
+
+/**
+ * Проверяет бюджет пользователя из X-Sharer-User-Id до вызова контроллера.
+ * GET и HEAD расходуют бюджет чтения, остальные методы - бюджет записи.
+ * Запросы без заголовка пользователя не ограничиваются, а с некорректным
+ * заголовком пропускаются дальше, чтобы получить обычную ошибку 400.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // ответ Mono дописывается во втором, асинхронном проходе того же запроса
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return true;
+        }
+
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+
+        String method = request.getMethod();
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        long waitNanos = rateLimiter.tryAcquire(userId, read);
+        if (waitNanos > 0) {
+            long second = TimeUnit.SECONDS.toNanos(1);
+            long retryAfterSeconds = (waitNanos + second - 1) / second;
+            throw new TooManyRequestsException("пользователь с id " + userId + " превысил допустимую частоту "
+                    + (read ? "чтения" : "записи"), retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок. Вместо числа токенов хранится одно время
+ * (алгоритм GCRA): момент, к которому корзина снова станет полной. Запрос
+ * берет токен, сдвигая этот момент на интервал пополнения, и отклоняется,
+ * если момент ушел вперед больше, чем позволяет запас корзины.
+ */
+class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0, если токен получен, иначе сколько наносекунд ждать следующего
+     */
+    long tryAcquire(long now, long intervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничение частоты запросов каждого пользователя с раздельными бюджетами
+ * на чтение и запись.
+ * <p>
+ * Корзины лежат в {@link ConcurrentHashMap}, а сами корзины без блокировок, поэтому
+ * запросы разных пользователей не выстраиваются в очередь за общим монитором.
+ * Число отслеживаемых пользователей ограничено: когда таблица заполнена, новый
+ * пользователь запускает очистку, которая удаляет всех простаивающих - тех, чьи
+ * корзины снова полны (момент полноты корзины - это время последнего обращения
+ * плюс израсходованный бюджет), и для кого удаление поэтому ничего не меняет.
+ * Очистка проходит не чаще раза в {@link #SWEEP_INTERVAL_NANOS}, так что ее цена
+ * делится на множество новых пользователей. Если места так и не нашлось, новый
+ * пользователь получает отказ: общий бюджет для посторонних позволил бы одному
+ * клиенту исчерпать лимит за всех остальных.
+ */
+@Component
+@Slf4j
+public class UserRateLimiter {
+
+    private static final String METRIC_NAME = "shareit.gateway.rate-limit";
+
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final Budget readBudget;
+
+    private final Budget writeBudget;
+
+    private final int maxUsers;
+
+    private final Map<Long, UserBuckets> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final AtomicLong lastSweepAt = new AtomicLong(NEVER);
+
+    private final Counter readRejected;
+
+    private final Counter writeRejected;
+
+    private final Counter untracked;
+
+    public UserRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${shareit.rate-limit.read.per-second:50}") double readPerSecond,
+                           @Value("${shareit.rate-limit.read.burst:100}") int readBurst,
+                           @Value("${shareit.rate-limit.write.per-second:10}") double writePerSecond,
+                           @Value("${shareit.rate-limit.write.burst:20}") int writeBurst,
+                           @Value("${shareit.rate-limit.max-users:100000}") int maxUsers) {
+        this.readBudget = new Budget(readPerSecond, readBurst);
+        this.writeBudget = new Budget(writePerSecond, writeBurst);
+        this.maxUsers = maxUsers;
+        this.readRejected = Counter.builder(METRIC_NAME + ".rejected")
+                .tag("kind", "read")
+                .register(meterRegistry);
+        this.writeRejected = Counter.builder(METRIC_NAME + ".rejected")
+                .tag("kind", "write")
+                .register(meterRegistry);
+        this.untracked = Counter.builder(METRIC_NAME + ".rejected")
+                .tag("kind", "no-capacity")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".users", this, UserRateLimiter::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0, если запрос допущен, иначе через сколько наносекунд повторить
+     */
+    public long tryAcquire(long userId, boolean read) {
+        return tryAcquire(userId, read, System.nanoTime());
+    }
+
+    long tryAcquire(long userId, boolean read, long now) {
+        UserBuckets userBuckets = bucketsOf(userId, now);
+        if (userBuckets == null) {
+            untracked.increment();
+            return SWEEP_INTERVAL_NANOS;
+        }
+
+        Budget budget = read ? readBudget : writeBudget;
+        TokenBucket bucket = read ? userBuckets.read : userBuckets.write;
+        long wait = bucket.tryAcquire(now, budget.intervalNanos, budget.burstToleranceNanos);
+        if (wait > 0) {
+            (read ? readRejected : writeRejected).increment();
+        }
+        return wait;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @Nullable
+    private UserBuckets bucketsOf(long userId, long now) {
+        UserBuckets userBuckets = buckets.get(userId);
+        if (userBuckets != null) {
+            return userBuckets;
+        }
+
+        // при гонке таблица может ненадолго превысить предел на число одновременно пришедших новичков
+        if (buckets.size() >= maxUsers && (!sweep(now) || buckets.size() >= maxUsers)) {
+            return null;
+        }
+        return buckets.computeIfAbsent(userId, id -> new UserBuckets(now));
+    }
+
+    /**
+     * Удаляет корзины всех простаивающих пользователей, если очистку сейчас
+     * не выполняет другой поток и с прошлой прошло {@link #SWEEP_INTERVAL_NANOS}.
+     *
+     * @return true, если очистка выполнялась
+     */
+    private boolean sweep(long now) {
+        long last = lastSweepAt.get();
+        if (last != NEVER && now - last < SWEEP_INTERVAL_NANOS) {
+            return false;
+        }
+        if (!sweeping.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            lastSweepAt.set(now);
+            int before = buckets.size();
+            // запрос, успевший взять удаляемую корзину, потратит токен из нее - это не больше одного токена
+            buckets.values().removeIf(userBuckets -> userBuckets.isFull(now));
+            log.debug("очистка корзин ограничения частоты: удалено {}", before - buckets.size());
+            return true;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static final class Budget {
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+
+        private Budget(double perSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstToleranceNanos = (Math.max(burst, 1) - 1) * intervalNanos;
+        }
+    }
+
+    private static final class UserBuckets {
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        private UserBuckets(long now) {
+            this.read = new TokenBucket(now);
+            this.write = new TokenBucket(now);
+        }
+
+        private boolean isFull(long now) {
+            return read.isFull(now) && write.isFull(now);
+        }
+    }
+}
@@ -3,12 +3,15 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.Constants.USER_HEADER;
 
@@ -22,26 +25,29 @@ public class ItemRequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader(USER_HEADER) Long userId,
-                                      @Valid @RequestBody ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> add(@RequestHeader(USER_HEADER) Long userId,
+                                            @Valid @RequestBody ItemRequestDto requestDto) {
         return requestClient.addNewRequest(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader(USER_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader(USER_HEADER) Long userId) {
         return requestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(USER_HEADER) Long userId,
-                                                 @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                 @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return requestClient.getAllRequests(userId, from, size);
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader(USER_HEADER) Long userId,
+                                                       @RequestParam(name = "afterCreated", required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreated,
+                                                       @RequestParam(name = "afterId", required = false) @Min(0) Long afterId,
+                                                       @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+                                                       @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        return requestClient.getAllRequests(userId, afterCreated, afterId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> get(@RequestHeader(USER_HEADER) Long userId,
-                                      @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> get(@RequestHeader(USER_HEADER) Long userId,
+                                            @PathVariable Long requestId) {
         return requestClient.getRequestById(userId, requestId);
     }
 }
\ No newline at end of file
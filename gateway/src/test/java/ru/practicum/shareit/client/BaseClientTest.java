@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseClientTest {
+
+    @Test
+    void prepareGatewayResponse_shouldStripServerSqlHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sql-Statements", "3");
+        headers.set("X-Sql-Time-Ms", "12");
+
+        ResponseEntity<Object> response = BaseClient.prepareGatewayResponse(
+                new ResponseEntity<>(Map.of("id", 1), headers, HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(Map.of("id", 1));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders()).doesNotContainKeys("X-Sql-Statements", "X-Sql-Time-Ms");
+    }
+
+    @Test
+    void prepareGatewayResponse_withoutSqlHeaders_shouldReturnResponseAsIs() {
+        ResponseEntity<Object> original = ResponseEntity.ok(Map.of("id", 1));
+
+        assertThat(BaseClient.prepareGatewayResponse(original)).isSameAs(original);
+    }
+
+    @Test
+    void searchItems_fromDistinctUsers_shouldShareOneUpstreamCall() {
+        Sinks.One<ClientResponse> server = Sinks.one();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ItemClient client = new ItemClient(transport(request -> {
+            upstreamCalls.incrementAndGet();
+            return server.asMono();
+        }));
+
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        for (long userId = 1; userId <= 100; userId++) {
+            client.searchItems(userId, "дрель", 0, 10).subscribe(responses::add);
+        }
+        server.tryEmitValue(jsonResponse(HttpStatus.OK, "[]"));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(responses).hasSize(100)
+                .allSatisfy(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK));
+    }
+
+    @Test
+    void get_fromDistinctUsers_shouldNotShareUserDependentCalls() {
+        Sinks.One<ClientResponse> server = Sinks.one();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ItemClient client = new ItemClient(transport(request -> {
+            upstreamCalls.incrementAndGet();
+            return server.asMono();
+        }));
+
+        client.get(1L, 10L).subscribe();
+        client.get(2L, 10L).subscribe();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private static ShareItServerTransport transport(ExchangeFunction exchange) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new ShareItServerTransport("http://localhost:9090",
+                new RestTemplateBuilder(),
+                new SimpleClientHttpRequestFactory(),
+                WebClient.builder().exchangeFunction(exchange),
+                ClientMode.REACTIVE,
+                false,
+                new GatewayResponseCache(meterRegistry, 0, 100),
+                new RequestCoalescer(meterRegistry, true),
+                new ServerCallGuards(meterRegistry, 50, 50, 20, 50, 10_000, 5));
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long LONG_OPEN = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void onResult_whenFailureRateBelowThreshold_shouldStayClosed() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, LONG_OPEN, 1);
+
+        record(breaker, true, true, true, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(25);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void onResult_whenFewerThanMinimumCalls_shouldStayClosed() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, LONG_OPEN, 1);
+
+        record(breaker, false, false, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void onResult_whenFailureRateReachesThreshold_shouldOpenAndRejectCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, LONG_OPEN, 1);
+
+        record(breaker, true, false, true, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.getRemainingOpenNanos()).isPositive();
+    }
+
+    @Test
+    void onResult_shouldForgetResultsOutsideSlidingWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 75, LONG_OPEN, 1);
+
+        record(breaker, false, false, true, true, true, true);
+
+        assertThat(breaker.getFailureRate()).isZero();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void tryAcquirePermission_afterOpenDuration_shouldAllowLimitedProbes() {
+        CircuitBreaker breaker = openBreaker(2);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void onResult_whenAllProbesSucceed_shouldCloseWithCleanWindow() {
+        CircuitBreaker breaker = openBreaker(2);
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+
+        record(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        record(breaker, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void onResult_whenProbeFails_shouldOpenAgain() {
+        CircuitBreaker breaker = openBreaker(2);
+        breaker.tryAcquirePermission();
+
+        record(breaker, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void releasePermission_whenProbeWasNotExecuted_shouldReturnProbe() {
+        CircuitBreaker breaker = openBreaker(1);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.releasePermission();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    // выключатель с нулевым временем размыкания: следующий вызов сразу переводит его в HALF_OPEN
+    private static CircuitBreaker openBreaker(int halfOpenCalls) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, 0, halfOpenCalls);
+        record(breaker, false, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, boolean... results) {
+        for (boolean success : results) {
+            breaker.onResult(success);
+        }
+    }
+}
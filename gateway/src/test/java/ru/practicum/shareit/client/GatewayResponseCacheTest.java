@@ -0,0 +1,169 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayResponseCacheTest {
+
+    private static final ResponseEntity<Object> OK = ResponseEntity.ok("body");
+
+    private MeterRegistry meterRegistry;
+
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new GatewayResponseCache(meterRegistry, 60_000, 100);
+    }
+
+    @Test
+    void get_whenResponseIsCached_shouldReturnItAndCountHit() {
+        String key = GatewayResponseCache.key("/items/1", 1L, null);
+        cache.put(key, "/items/1", OK, cache.generation());
+
+        assertThat(cache.get(key)).isSameAs(OK);
+        assertThat(cache.get(GatewayResponseCache.key("/items/1", 2L, null))).isNull();
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_whenEntryExpired_shouldReturnNullAndDropIt() throws InterruptedException {
+        cache = new GatewayResponseCache(meterRegistry, 1, 100);
+        String key = GatewayResponseCache.key("/items/1", 1L, null);
+        cache.put(key, "/items/1", OK, cache.generation());
+
+        Thread.sleep(5);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_whenResponseIsNotSuccessful_shouldNotCacheIt() {
+        String key = GatewayResponseCache.key("/items/1", 1L, null);
+        cache.put(key, "/items/1", ResponseEntity.status(HttpStatus.NOT_FOUND).build(), cache.generation());
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_whenInvalidatedAfterRequestStarted_shouldDropStaleResponse() {
+        String key = GatewayResponseCache.key("/items/1", 1L, null);
+        long generation = cache.generation();
+
+        cache.invalidate("/items/1");
+        cache.put(key, "/items/1", OK, generation);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_whenMaxSizeExceeded_shouldEvictLeastRecentlyUsed() {
+        cache = new GatewayResponseCache(meterRegistry, 60_000, 2);
+        String first = cache("/users/1");
+        String second = cache("/users/2");
+        cache.get(first);
+        String third = cache("/users/3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.get(third)).isNotNull();
+    }
+
+    @Test
+    void invalidate_whenBookingApproved_shouldDropBookingAndItemEntries() {
+        String owner = cache("/bookings/owner");
+        String booker = cache("/bookings");
+        String item = cache("/items/7");
+        String availability = cache("/items/7/availability");
+        String requests = cache("/requests/all");
+        String users = cache("/users/1");
+
+        cache.invalidate("/bookings/3");
+
+        assertThat(cache.get(owner)).isNull();
+        assertThat(cache.get(booker)).isNull();
+        assertThat(cache.get(item)).isNull();
+        assertThat(cache.get(availability)).isNull();
+        assertThat(cache.get(requests)).isNotNull();
+        assertThat(cache.get(users)).isNotNull();
+    }
+
+    @Test
+    void invalidate_whenItemUpdated_shouldDropSearchAndEntriesEmbeddingItems() {
+        String search = cache("/items/search");
+        String otherItem = cache("/items/8");
+        String booking = cache("/bookings/3");
+        String request = cache("/requests/2");
+        String users = cache("/users");
+
+        cache.invalidate("/items/7");
+
+        assertThat(cache.get(search)).isNull();
+        assertThat(cache.get(otherItem)).isNull();
+        assertThat(cache.get(booking)).isNull();
+        assertThat(cache.get(request)).isNull();
+        assertThat(cache.get(users)).isNotNull();
+    }
+
+    @Test
+    void invalidate_whenRequestCreated_shouldKeepOtherFamilies() {
+        String requests = cache("/requests");
+        String items = cache("/items");
+
+        cache.invalidate("/requests");
+
+        assertThat(cache.get(requests)).isNull();
+        assertThat(cache.get(items)).isNotNull();
+    }
+
+    @Test
+    void invalidate_whenUserDeleted_shouldDropEverythingReferencingUsers() {
+        cache("/users/1");
+        cache("/items");
+        cache("/bookings/owner");
+        cache("/requests/all");
+
+        cache.invalidate("/users/1");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidate_whenFamilyIsUnknown_shouldClearCache() {
+        cache("/users/1");
+        cache("/items/1");
+
+        cache.invalidate("/unknown/1");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void family_shouldReturnFirstPathSegment() {
+        assertThat(GatewayResponseCache.family("/items")).isEqualTo("/items");
+        assertThat(GatewayResponseCache.family("/items/5/availability")).isEqualTo("/items");
+    }
+
+    private String cache(String path) {
+        String key = GatewayResponseCache.key(path, 1L, null);
+        cache.put(key, path, OK, cache.generation());
+        return key;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.response.cache.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
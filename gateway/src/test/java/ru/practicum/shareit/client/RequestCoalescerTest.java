@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class RequestCoalescerTest {
+
+    private static final ResponseEntity<Object> OK = ResponseEntity.ok("body");
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescer coalescer;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, true);
+    }
+
+    @Test
+    void coalesce_whenSameKeyIsInFlight_shouldShareOneUpstreamCall() {
+        Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+
+        coalescer.coalesce("key", upstream(sink)).subscribe(responses::add);
+        coalescer.coalesce("key", upstream(sink)).subscribe(responses::add);
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        sink.tryEmitValue(OK);
+
+        assertThat(responses).containsExactly(OK, OK);
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(requests("upstream")).isEqualTo(1.0);
+        assertThat(requests("coalesced")).isEqualTo(1.0);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_whenKeysDiffer_shouldCallUpstreamForEach() {
+        coalescer.coalesce("first", upstream(Sinks.one())).subscribe();
+        coalescer.coalesce("second", upstream(Sinks.one())).subscribe();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(inFlight()).isEqualTo(2.0);
+    }
+
+    @Test
+    void coalesce_afterResponse_shouldCallUpstreamAgain() {
+        assertThat(coalescer.coalesce("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(OK);
+        }).block()).isSameAs(OK);
+        assertThat(coalescer.coalesce("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(OK);
+        }).block()).isSameAs(OK);
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_whenUpstreamFails_shouldPropagateErrorAndRemoveEntry() {
+        Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+        coalescer.coalesce("key", upstream(sink)).subscribe(response -> { }, errors::add);
+        coalescer.coalesce("key", upstream(sink)).subscribe(response -> { }, errors::add);
+
+        sink.tryEmitError(new IllegalStateException("server is down"));
+
+        assertThat(errors).hasSize(2);
+        assertThat(inFlight()).isZero();
+        assertThatIllegalStateException()
+                .isThrownBy(() -> coalescer.coalesce("key", () -> Mono.error(new IllegalStateException())).block());
+    }
+
+    @Test
+    void coalesce_whenSubscriberCancels_shouldKeepEntryUntilUpstreamFinishes() {
+        Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+        Disposable first = coalescer.coalesce("key", upstream(sink)).subscribe();
+
+        first.dispose();
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        coalescer.coalesce("key", upstream(sink)).subscribe(responses::add);
+        sink.tryEmitValue(OK);
+
+        assertThat(responses).containsExactly(OK);
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_whenSharedResponseIsNotShareable_shouldSendFollowerOwnCall() {
+        Sinks.One<ResponseEntity<Object>> leaderSink = Sinks.one();
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        ResponseEntity<Object> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        coalescer.coalesce("key", upstream(leaderSink), this::isOk).subscribe(responses::add);
+        coalescer.coalesce("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(OK);
+        }, this::isOk).subscribe(responses::add);
+        leaderSink.tryEmitValue(notFound);
+
+        assertThat(responses).containsExactlyInAnyOrder(notFound, OK);
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private boolean isOk(ResponseEntity<Object> response) {
+        return response.getStatusCode().is2xxSuccessful();
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> upstream(Sinks.One<ResponseEntity<Object>> sink) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            return sink.asMono();
+        };
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.coalescing.in-flight").gauge().value();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.coalescing.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
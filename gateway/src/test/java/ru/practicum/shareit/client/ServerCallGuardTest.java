@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ServerCallGuardTest {
+
+    private static final ResponseEntity<Object> OK = ResponseEntity.ok("body");
+
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    private ServerCallGuard guard;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(2, 2, 50, TimeUnit.MINUTES.toNanos(1), 1);
+        guard = new ServerCallGuard("items", 1, circuitBreaker, meterRegistry);
+    }
+
+    @Test
+    void call_whenBulkheadIsFull_shouldRejectWithoutCallingServer() {
+        Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+        guard.call(() -> counted(sink.asMono())).subscribe();
+
+        assertThatExceptionOfType(ServerUnavailableException.class)
+                .isThrownBy(() -> guard.call(() -> counted(Mono.just(OK))).block());
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(rejected("bulkhead-full")).isEqualTo(1.0);
+
+        sink.tryEmitValue(OK);
+
+        assertThat(guard.call(() -> counted(Mono.just(OK))).block()).isSameAs(OK);
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void call_whenCancelled_shouldReleaseBulkhead() {
+        Disposable pending = guard.call(() -> counted(Sinks.<ResponseEntity<Object>>one().asMono())).subscribe();
+
+        pending.dispose();
+
+        assertThat(guard.call(() -> counted(Mono.just(OK))).block()).isSameAs(OK);
+    }
+
+    @Test
+    void call_whenServerFails_shouldOpenCircuitAndRejectCalls() {
+        ResponseEntity<Object> serverError = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        guard.call(() -> counted(Mono.just(serverError))).block();
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> guard.call(() -> counted(Mono.error(new IllegalStateException()))).block());
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        ServerUnavailableException exception = catchThrowableOfType(
+                () -> guard.call(() -> counted(Mono.just(OK))).block(), ServerUnavailableException.class);
+        assertThat(exception.getRetryAfterSeconds()).isPositive();
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(rejected("circuit-open")).isEqualTo(1.0);
+    }
+
+    @Test
+    void call_whenServerAnswers4xx_shouldNotCountFailure() {
+        ResponseEntity<Object> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        guard.call(() -> counted(Mono.just(notFound))).block();
+        guard.call(() -> counted(Mono.just(notFound))).block();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void health_whenCircuitIsOpen_shouldReportCircuitOpenInsteadOfDown() {
+        assertThat(guard.health().getStatus()).isEqualTo(Status.UP);
+
+        circuitBreaker.onResult(false);
+        circuitBreaker.onResult(false);
+
+        assertThat(guard.health().getStatus()).isEqualTo(ServerCallGuard.CIRCUIT_OPEN);
+        assertThat(guard.health().getDetails()).containsEntry("state", CircuitBreaker.State.OPEN);
+    }
+
+    private Mono<ResponseEntity<Object>> counted(Mono<ResponseEntity<Object>> response) {
+        upstreamCalls.incrementAndGet();
+        return response;
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("shareit.gateway.server-calls.rejected")
+                .tag("api", "items")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-server.circuit-breaker.sliding-window-size=2",
+        "shareit-server.circuit-breaker.minimum-calls=2"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class ServerCallGuardsHealthTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServerCallGuards guards;
+
+    @Test
+    @SneakyThrows
+    void health_whenOneCircuitIsOpen_shouldKeepGatewayUp() {
+        ServerCallGuard guard = guards.forApi("/requests");
+        for (int i = 0; i < 2; i++) {
+            guard.call(() -> Mono.error(new IllegalStateException("server is down")))
+                    .onErrorResume(e -> Mono.empty())
+                    .block();
+        }
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.shareitServer.components.requests.status").value("CIRCUIT_OPEN"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/server-calls"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("CIRCUIT_OPEN"));
+    }
+}
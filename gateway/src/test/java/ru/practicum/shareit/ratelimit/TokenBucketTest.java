@@ -0,0 +1,72 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = 100;
+
+    // запас на две дополнительные заявки: корзина вмещает три токена
+    private static final long BURST_TOLERANCE = 2 * INTERVAL;
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenReportWait() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertThat(bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE)).isZero();
+        assertThat(bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE)).isZero();
+        assertThat(bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE)).isZero();
+
+        assertThat(bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(40, INTERVAL, BURST_TOLERANCE)).isEqualTo(INTERVAL - 40);
+    }
+
+    @Test
+    void tryAcquire_whenRejected_shouldNotConsumeToken() {
+        TokenBucket bucket = new TokenBucket(0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+        }
+
+        bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+        bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+
+        assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, BURST_TOLERANCE)).isZero();
+        assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, BURST_TOLERANCE)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+        }
+
+        assertThat(bucket.tryAcquire(2 * INTERVAL, INTERVAL, BURST_TOLERANCE)).isZero();
+        assertThat(bucket.tryAcquire(2 * INTERVAL, INTERVAL, BURST_TOLERANCE)).isZero();
+        assertThat(bucket.tryAcquire(2 * INTERVAL, INTERVAL, BURST_TOLERANCE)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_shouldNotAccumulateExtraTokens() {
+        TokenBucket bucket = new TokenBucket(0);
+        long later = 100 * INTERVAL;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later, INTERVAL, BURST_TOLERANCE)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later, INTERVAL, BURST_TOLERANCE)).isPositive();
+    }
+
+    @Test
+    void isFull_shouldBecomeTrueOnceAllTokensAreBack() {
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+        bucket.tryAcquire(0, INTERVAL, BURST_TOLERANCE);
+
+        assertThat(bucket.isFull(INTERVAL)).isFalse();
+        assertThat(bucket.isFull(2 * INTERVAL)).isTrue();
+    }
+}
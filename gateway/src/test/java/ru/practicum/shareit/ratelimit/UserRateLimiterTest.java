@@ -0,0 +1,110 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private MeterRegistry meterRegistry;
+
+    private UserRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new UserRateLimiter(meterRegistry, 10, 2, 1, 1, 2);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateReadAndWriteBudgets() {
+        assertThat(rateLimiter.tryAcquire(1L, false, 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, false, 0)).isEqualTo(SECOND);
+
+        assertThat(rateLimiter.tryAcquire(1L, true, 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, true, 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, true, 0)).isEqualTo(SECOND / 10);
+
+        assertThat(rejected("read")).isEqualTo(1.0);
+        assertThat(rejected("write")).isEqualTo(1.0);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBudgetsPerUser() {
+        rateLimiter.tryAcquire(1L, false, 0);
+
+        assertThat(rateLimiter.tryAcquire(1L, false, 0)).isPositive();
+        assertThat(rateLimiter.tryAcquire(2L, false, 0)).isZero();
+    }
+
+    @Test
+    void tryAcquire_whenMaxUsersReached_shouldSweepIdleUsers() {
+        rateLimiter.tryAcquire(1L, false, 0);
+        rateLimiter.tryAcquire(2L, false, SECOND);
+
+        // к этому моменту корзина пользователя 1 снова полна, а пользователя 2 - нет
+        long now = 3 * SECOND / 2;
+        assertThat(rateLimiter.tryAcquire(3L, false, now)).isZero();
+
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire(2L, false, now)).isPositive();
+        assertThat(rejected("no-capacity")).isZero();
+    }
+
+    @Test
+    void tryAcquire_whenAllTrackedUsersAreThrottled_shouldDenyNewUsersAndKeepBudgets() {
+        rateLimiter.tryAcquire(1L, false, 0);
+        rateLimiter.tryAcquire(2L, false, 0);
+
+        for (long userId = 3; userId < 10; userId++) {
+            assertThat(rateLimiter.tryAcquire(userId, true, 0)).isEqualTo(UserRateLimiter.SWEEP_INTERVAL_NANOS);
+        }
+
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire(1L, false, 0)).isPositive();
+        assertThat(rateLimiter.tryAcquire(2L, false, 0)).isPositive();
+        assertThat(rejected("no-capacity")).isEqualTo(7.0);
+    }
+
+    @Test
+    void tryAcquire_whenNewUsersAreDenied_shouldNotChargeThemForEachOther() {
+        rateLimiter.tryAcquire(1L, false, 0);
+        rateLimiter.tryAcquire(2L, false, 0);
+        rateLimiter.tryAcquire(3L, false, 0);
+
+        // как только место освобождается, каждый новичок получает собственный полный бюджет
+        long now = SECOND;
+        assertThat(rateLimiter.tryAcquire(4L, false, now)).isZero();
+        assertThat(rateLimiter.tryAcquire(5L, false, now)).isZero();
+        assertThat(rateLimiter.tryAcquire(4L, false, now)).isPositive();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_shouldSweepAtMostOncePerInterval() {
+        rateLimiter.tryAcquire(1L, true, 0);
+        rateLimiter.tryAcquire(2L, true, 0);
+        rateLimiter.tryAcquire(3L, true, 0);
+
+        // корзины чтения снова полны, но с прошлой очистки не прошел интервал
+        long now = UserRateLimiter.SWEEP_INTERVAL_NANOS / 2;
+        assertThat(rateLimiter.tryAcquire(4L, true, now)).isPositive();
+
+        assertThat(rateLimiter.tryAcquire(4L, true, UserRateLimiter.SWEEP_INTERVAL_NANOS)).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    private double rejected(String kind) {
+        return meterRegistry.get("shareit.gateway.rate-limit.rejected")
+                .tag("kind", kind)
+                .counter()
+                .count();
+    }
+}
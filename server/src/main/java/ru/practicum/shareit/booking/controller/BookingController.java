@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.LogPayload;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -31,7 +32,7 @@ public class BookingController {
                                                @RequestBody @Valid BookingCreateRequestDto bookingCreateRequestDto) {
         log.info("got request POST /bookings");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, userId);
-        log.info("request body: {}", bookingCreateRequestDto);
+        log.info("request body: {}", LogPayload.of(bookingCreateRequestDto));
 
         return bookingService.addBooking(userId, bookingCreateRequestDto);
     }
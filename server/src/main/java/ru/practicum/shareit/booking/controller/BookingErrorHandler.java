@@ -72,4 +72,10 @@ public class BookingErrorHandler extends BaseErrorHandler {
     public ErrorResponse handleUserIsOwnerException(final UserIsOwnerException e) {
         return commonErrorResponse(e, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        return commonErrorResponse(e, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingShortDto {
+    private Long itemId;
+    private Long id;
+    private Long bookerId;
+}
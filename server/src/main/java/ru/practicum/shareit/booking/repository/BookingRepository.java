@@ -4,30 +4,168 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.availability.BookedInterval;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends PagingAndSortingRepository<Booking, Long> {
+    @Query("select case when count(b) > 0 then true else false end " +
+            "from Booking as b " +
+            "where b.item.id = ?1 " +
+            "and b.status in ?2 " +
+            "and b.startDate < ?4 " +
+            "and b.endDate > ?3")
+    boolean existsOverlappingBooking(Long itemId, Collection<BookingStatus> statuses,
+                                     LocalDateTime start, LocalDateTime end);
+
+    // запрос, а не findById: статус нужно прочитать из базы, минуя уже загруженную сущность
+    @Query("select b.status from Booking as b where b.id = ?1")
+    Optional<BookingStatus> findStatusById(Long bookingId);
+
+    @Query("select new ru.practicum.shareit.item.availability.BookedInterval(b.id, b.startDate, b.endDate) " +
+            "from Booking as b " +
+            "where b.item.id = ?1 " +
+            "and b.status in ?2")
+    List<BookedInterval> findBookedIntervals(Long itemId, Collection<BookingStatus> statuses);
+
     @Query("select b " +
             "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
             "where b.booker.id = ?1 " +
             "order by b.startDate desc")
     List<Booking> findAllBookingsForBookerByStatus(Long bookerId, Pageable pageable);
 
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where b.booker.id = ?1 " +
+            "and b.startDate < ?2 " +
+            "and b.endDate > ?2 " +
+            "order by b.id asc")
+    List<Booking> findCurrentBookingsForBooker(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where b.booker.id = ?1 " +
+            "and b.endDate < ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findPastBookingsForBooker(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where b.booker.id = ?1 " +
+            "and b.startDate > ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findFutureBookingsForBooker(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where b.booker.id = ?1 " +
+            "and b.status = ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findBookingsForBookerWithStatus(Long bookerId, BookingStatus status, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "order by b.startDate desc")
+    List<Booking> findAllBookingsForOwner(Long ownerId, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "and b.startDate < ?2 " +
+            "and b.endDate > ?2 " +
+            "order by b.id asc")
+    List<Booking> findCurrentBookingsForOwner(Long ownerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "and b.endDate < ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findPastBookingsForOwner(Long ownerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "and b.startDate > ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findFutureBookingsForOwner(Long ownerId, LocalDateTime now, Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.owner " +
+            "join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "and b.status = ?2 " +
+            "order by b.startDate desc")
+    List<Booking> findBookingsForOwnerWithStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    // условие по внешнему ключу, а не по присоединенной сущности, чтобы работали индексы по booker_id и item_id
+    @Query("select b from Booking as b where b.booker.id = ?1")
     List<Booking> findByBookerId(Long bookerId);
 
+    @Query("select b from Booking as b where b.item.id = ?1")
     List<Booking> findByItemId(Long itemId, Sort sort);
 
     List<Booking> findAll();
 
-    List<Booking> findByItemIdIn(Collection<Long> ids, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingShortDto(b.item.id, b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate = (" +
+            "select max(lb.startDate) " +
+            "from Booking as lb " +
+            "where lb.item.id = b.item.id " +
+            "and lb.status = ?2 " +
+            "and lb.startDate <= ?3)")
+    List<BookingShortDto> findLastBookingsForItems(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    List<Booking> findAllByItemAndStatusOrderByStartDateAsc(Item item, BookingStatus bookingStatus);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingShortDto(b.item.id, b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate = (" +
+            "select min(nb.startDate) " +
+            "from Booking as nb " +
+            "where nb.item.id = b.item.id " +
+            "and nb.status = ?2 " +
+            "and nb.startDate > ?3)")
+    List<BookingShortDto> findNextBookingsForItems(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
     @Query("SELECT b FROM Booking as b " +
             "JOIN Item as i ON i.id = b.item.id " +
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
@@ -15,16 +14,17 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,6 +36,8 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @Transactional
@@ -44,7 +46,7 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> generateUserNotFoundException(userId));
 
         long itemId = bookingCreateRequestDto.getItemId();
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> generateItemNotFoundException(itemId));
 
         if (Boolean.FALSE.equals(item.getAvailable())) {
@@ -60,10 +62,13 @@ public class BookingServiceImpl implements BookingService {
         }
 
         BookingDatesValidator.validate(bookingCreateRequestDto);
+        checkNoOverlap(itemId, List.of(BookingStatus.APPROVED, BookingStatus.WAITING),
+                bookingCreateRequestDto.getStart(), bookingCreateRequestDto.getEnd());
 
         Booking booking = BookingMapper.toBooking(user, item, bookingCreateRequestDto);
 
         Booking saved = bookingRepository.save(booking);
+        itemAvailabilityCache.onBookingSaved(saved);
 
         return BookingMapper.toBookingCreateResponseDto(saved);
     }
@@ -73,12 +78,6 @@ public class BookingServiceImpl implements BookingService {
     public BookingCreateResponseDto refineBooking(Long userId, Long bookingId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> generateBookingNotFoundException(bookingId));
-        BookingStatus currentStatus = booking.getStatus();
-        if (currentStatus.equals(BookingStatus.APPROVED) || currentStatus.equals(BookingStatus.REJECTED)) {
-            String message = "Бронирование уже имеет статус " + currentStatus;
-            log.error(message);
-            throw new BookingAlreadyRefinedException(message);
-        }
 
         Item item = booking.getItem();
 
@@ -91,12 +90,30 @@ public class BookingServiceImpl implements BookingService {
             throw new UserIsNotOwnerException(message);
         }
 
+        // и подтверждение, и отклонение идут под блокировкой вещи, а статус перечитывается уже под ней:
+        // иначе два одновременных решения по одному бронированию оба увидели бы WAITING
+        itemRepository.findByIdForUpdate(item.getId())
+                .orElseThrow(() -> generateItemNotFoundException(item.getId()));
+        BookingStatus currentStatus = bookingRepository.findStatusById(bookingId)
+                .orElseThrow(() -> generateBookingNotFoundException(bookingId));
+        if (currentStatus.equals(BookingStatus.APPROVED) || currentStatus.equals(BookingStatus.REJECTED)) {
+            String message = "Бронирование уже имеет статус " + currentStatus;
+            log.error(message);
+            throw new BookingAlreadyRefinedException(message);
+        }
+
+        if (Boolean.TRUE.equals(approved)) {
+            checkNoOverlap(item.getId(), List.of(BookingStatus.APPROVED),
+                    booking.getStartDate(), booking.getEndDate());
+        }
+
         BookingStatus newStatus = Boolean.TRUE.equals(approved)
                 ? BookingStatus.APPROVED
                 : BookingStatus.REJECTED;
         booking.setStatus(newStatus);
 
         Booking updated = bookingRepository.save(booking);
+        itemAvailabilityCache.onBookingSaved(updated);
 
         return BookingMapper.toBookingCreateResponseDto(updated);
     }
@@ -131,125 +148,46 @@ public class BookingServiceImpl implements BookingService {
         Pageable pageable = PageRequest.of(from / size, size);
         BookingState state = fromString(stateStr);
 
-        userRepository.findById(bookerId).orElseThrow(() -> generateUserNotFoundException(bookerId));
+        ensureUserExists(bookerId);
 
-        List<Booking> bookings = bookingRepository.findAllBookingsForBookerByStatus(bookerId, pageable);
-        log.info("findAllBookingsForBooker bookings = {}", bookings);
+        List<Booking> bookings = findBookerBookingsByState(bookerId, state, pageable);
+        log.info("findAllBookingsForBooker: найдено {} бронирований в состоянии {}", bookings.size(), state);
 
-        List<BookingCreateResponseDto> response = bookings.stream()
+        return bookings.stream()
                 .map(BookingMapper::toBookingCreateResponseDto)
                 .collect(Collectors.toList());
-        log.info("findAllBookingsForBooker response = {}", response);
-
-        if (state.equals(BookingState.ALL)) {
-            return response;
-        }
-
-        if (state.equals(BookingState.CURRENT)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getStart().isBefore(now) && b.getEnd().isAfter(now))
-                    .sorted(Comparator.comparing(BookingCreateResponseDto::getId))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.FUTURE)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getStart().isAfter(now))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.PAST)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getEnd().isBefore(now))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.WAITING)) {
-            return response.stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.WAITING))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.REJECTED)) {
-            return response.stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.REJECTED))
-                    .collect(Collectors.toList());
-        }
-
-        throw new RuntimeException("unexpected booking state " + state);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Collection<BookingCreateResponseDto> findAllBookingsForItemsOwner(Long ownerId, String stateStr,
                                                                              Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").descending());
+        Pageable pageable = PageRequest.of(from / size, size);
         BookingState state = fromString(stateStr);
 
-        userRepository.findById(ownerId).orElseThrow(() -> generateUserNotFoundException(ownerId));
-
-        Collection<Item> neededItems = itemRepository.findAllByOwnerId(ownerId);
-        log.info("found {} needed items: {}", neededItems.size(), neededItems);
-
-        List<Booking> allBookings = bookingRepository.findByItemIdIn(
-                neededItems.stream()
-                        .map(Item::getId)
-                        .collect(Collectors.toList()),
-                pageable);
-        log.info("found {} bookings: {}", allBookings.size(), allBookings);
+        ensureUserExists(ownerId);
 
-        List<Booking> neededBookings = allBookings.stream().filter(b -> {
-            Item item = b.getItem();
-            return item.getOwner().getId().equals(ownerId);
-        }).collect(Collectors.toList());
+        List<Booking> bookings = findOwnerBookingsByState(ownerId, state, pageable);
+        log.info("findAllBookingsForItemsOwner: найдено {} бронирований в состоянии {}", bookings.size(), state);
 
-        List<BookingCreateResponseDto> response = neededBookings.stream()
+        return bookings.stream()
                 .map(BookingMapper::toBookingCreateResponseDto)
-                .sorted((o1, o2) -> o2.getStart().compareTo(o1.getStart()))
                 .collect(Collectors.toList());
+    }
 
-        if (state.equals(BookingState.ALL)) {
-            return response;
-        }
-
-        if (state.equals(BookingState.CURRENT)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getStart().isBefore(now) && b.getEnd().isAfter(now))
-                    .sorted(Comparator.comparing(BookingCreateResponseDto::getId))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.FUTURE)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getStart().isAfter(now))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.PAST)) {
-            LocalDateTime now = LocalDateTime.now();
-            return response.stream()
-                    .filter(b -> b.getEnd().isBefore(now))
-                    .collect(Collectors.toList());
-        }
-
-        if (state.equals(BookingState.WAITING)) {
-            return response.stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.WAITING))
-                    .collect(Collectors.toList());
+    private void checkNoOverlap(Long itemId, Collection<BookingStatus> statuses,
+                                LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsOverlappingBooking(itemId, statuses, start, end)) {
+            String message = "предмет с id " + itemId + " уже забронирован на период с " + start + " по " + end;
+            log.error(message);
+            throw new BookingOverlapException(message);
         }
+    }
 
-        if (state.equals(BookingState.REJECTED)) {
-            return response.stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.REJECTED))
-                    .collect(Collectors.toList());
+    private void ensureUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw generateUserNotFoundException(userId);
         }
-
-        throw new RuntimeException("unexpected booking state " + state);
     }
 
     private UserNotFoundException generateUserNotFoundException(long userId) {
@@ -270,6 +208,46 @@ public class BookingServiceImpl implements BookingService {
         return new BookingNotFoundException(message);
     }
 
+    private List<Booking> findBookerBookingsByState(Long bookerId, BookingState state, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findAllBookingsForBookerByStatus(bookerId, pageable);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsForBooker(bookerId, now, pageable);
+            case PAST:
+                return bookingRepository.findPastBookingsForBooker(bookerId, now, pageable);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsForBooker(bookerId, now, pageable);
+            case WAITING:
+                return bookingRepository.findBookingsForBookerWithStatus(bookerId, BookingStatus.WAITING, pageable);
+            case REJECTED:
+                return bookingRepository.findBookingsForBookerWithStatus(bookerId, BookingStatus.REJECTED, pageable);
+            default:
+                throw new RuntimeException("unexpected booking state " + state);
+        }
+    }
+
+    private List<Booking> findOwnerBookingsByState(Long ownerId, BookingState state, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findAllBookingsForOwner(ownerId, pageable);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsForOwner(ownerId, now, pageable);
+            case PAST:
+                return bookingRepository.findPastBookingsForOwner(ownerId, now, pageable);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsForOwner(ownerId, now, pageable);
+            case WAITING:
+                return bookingRepository.findBookingsForOwnerWithStatus(ownerId, BookingStatus.WAITING, pageable);
+            case REJECTED:
+                return bookingRepository.findBookingsForOwnerWithStatus(ownerId, BookingStatus.REJECTED, pageable);
+            default:
+                throw new RuntimeException("unexpected booking state " + state);
+        }
+    }
+
     private BookingState fromString(final String bookingStateStr) {
         try {
             return BookingState.valueOf(bookingStateStr);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.common;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,6 +13,8 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class BaseErrorHandler {
+    static final String ERRORS_METRIC_NAME = "shareit.errors";
+
     protected ErrorResponse commonErrorResponse(final Throwable e, final HttpStatus status) {
         logError(e, status);
         return new ErrorResponse(e.getMessage());
@@ -56,6 +59,9 @@ public abstract class BaseErrorHandler {
     }
 
     private void logError(final Throwable e, final HttpStatus status) {
+        Metrics.counter(ERRORS_METRIC_NAME,
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
         log.error("{} {}", status.value(), status.getReasonPhrase());
         log.error("thrown {} : {}", e.getClass().getCanonicalName(), e.getMessage());
     }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ленивое и ограниченное по размеру представление объекта для журнала.
+ * <p>
+ * {@code log.info("...: {}", LogPayload.of(body))} не вызывает toString(),
+ * пока уровень отключен; при записи коллекция выводится как размер и первые
+ * несколько элементов, а строка обрезается до заданной длины.
+ * <p>
+ * Выборка применяется только к отладочным дампам коллекций через {@link #sampled(Object)}:
+ * решение принимается один раз при создании, поэтому все приемники журнала видят
+ * одно и то же. Тела запросов выводятся через {@link #of(Object)} всегда.
+ */
+@UtilityClass
+public class LogPayload {
+
+    private static final String SKIPPED = "<содержимое пропущено выборкой>";
+
+    static final Settings DEFAULTS = new Settings(1000, 10, 1.0);
+
+    // настройки меняются целиком, чтобы форматирование не видело смесь старых и новых значений
+    private static volatile Settings settings = DEFAULTS;
+
+    /**
+     * Заменяет настройки и возвращает прежние, чтобы их можно было вернуть через {@link #restore(Settings)}.
+     */
+    static Settings configure(int maxLength, int maxElements, double sampleRate) {
+        Settings previous = settings;
+        settings = new Settings(maxLength, maxElements, sampleRate);
+        return previous;
+    }
+
+    static void restore(Settings previous) {
+        settings = previous;
+    }
+
+    public static Object of(@Nullable Object payload) {
+        return new Payload(payload, settings, false);
+    }
+
+    /**
+     * Как {@link #of(Object)}, но с долей {@code 1 - sample-rate} содержимое заменяется пометкой о пропуске.
+     */
+    public static Object sampled(@Nullable Object payload) {
+        Settings current = settings;
+        boolean skipped = current.sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= current.sampleRate;
+        return new Payload(payload, current, skipped);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Payload {
+        @Nullable
+        private final Object value;
+
+        private final Settings settings;
+
+        private final boolean skipped;
+
+        @Override
+        public String toString() {
+            if (skipped) {
+                return SKIPPED;
+            }
+
+            int maxLength = settings.maxLength;
+            String text = value instanceof Collection ? render((Collection<?>) value) : String.valueOf(value);
+            if (text.length() <= maxLength) {
+                return text;
+            }
+            return text.substring(0, maxLength) + "... (" + text.length() + " символов)";
+        }
+
+        private String render(Collection<?> collection) {
+            int maxLength = settings.maxLength;
+            int maxElements = settings.maxElements;
+            StringBuilder builder = new StringBuilder("size=").append(collection.size()).append(" [");
+            Iterator<?> iterator = collection.iterator();
+            for (int i = 0; i < maxElements && iterator.hasNext() && builder.length() <= maxLength; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(iterator.next());
+            }
+            if (iterator.hasNext()) {
+                builder.append(", ...");
+            }
+            return builder.append(']').toString();
+        }
+    }
+
+    @RequiredArgsConstructor
+    static final class Settings {
+        private final int maxLength;
+        private final int maxElements;
+        private final double sampleRate;
+    }
+}
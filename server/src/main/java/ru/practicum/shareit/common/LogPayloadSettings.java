@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Переносит настройки вывода содержимого в журнал в {@link LogPayload}.
+ * При закрытии контекста возвращает прежние настройки, чтобы они не
+ * переходили в другие контексты той же JVM (например, в тестах).
+ */
+@Component
+public class LogPayloadSettings implements DisposableBean {
+
+    private final LogPayload.Settings previous;
+
+    public LogPayloadSettings(@Value("${shareit.log-payload.max-length:1000}") int maxLength,
+                              @Value("${shareit.log-payload.max-elements:10}") int maxElements,
+                              @Value("${shareit.log-payload.sample-rate:1.0}") double sampleRate) {
+        this.previous = LogPayload.configure(maxLength, maxElements, sampleRate);
+    }
+
+    @Override
+    public void destroy() {
+        LogPayload.restore(previous);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время выполнения и размер результата каждого метода сервисов бронирований,
+ * вещей, запросов и пользователей.
+ * <p>
+ * {@code shareit.service.calls} - гистограмма времени с тегами service, method
+ * и exception ({@code none} при успехе), {@code shareit.service.result.size} -
+ * распределение числа элементов в возвращенных коллекциях.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String CALLS_METRIC_NAME = "shareit.service.calls";
+
+    static final String RESULT_SIZE_METRIC_NAME = "shareit.service.result.size";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.practicum.shareit.booking.service.BookingService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.service.ItemService.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.service.ItemRequestService.*(..))"
+            + " || execution(public * ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters methodMeters = meters.computeIfAbsent(method, this::createMeters);
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (methodMeters.resultSize != null && result != null) {
+                methodMeters.resultSize.record(((Collection<?>) result).size());
+            }
+            return result;
+        } catch (Throwable e) {
+            methodMeters.failures.computeIfAbsent(e.getClass(), type -> timer(method, type.getSimpleName()))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MethodMeters createMeters(Method method) {
+        DistributionSummary resultSize = null;
+        if (Collection.class.isAssignableFrom(method.getReturnType())) {
+            resultSize = DistributionSummary.builder(RESULT_SIZE_METRIC_NAME)
+                    .tag("service", serviceName(method))
+                    .tag("method", method.getName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return new MethodMeters(timer(method, NO_EXCEPTION), resultSize);
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(CALLS_METRIC_NAME)
+                .tag("service", serviceName(method))
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // через CGLIB-прокси приходит метод реализации, а тег должен совпадать с именем интерфейса
+    private static String serviceName(Method method) {
+        return method.getDeclaringClass().getSimpleName().replaceFirst("Impl$", "");
+    }
+
+    @RequiredArgsConstructor
+    private static final class MethodMeters {
+        private final Timer success;
+        @Nullable
+        private final DistributionSummary resultSize;
+        // таймеры ошибок по классу исключения, чтобы не искать их в реестре на каждом исключении
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+    }
+}
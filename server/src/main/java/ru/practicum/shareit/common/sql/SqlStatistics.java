@@ -0,0 +1,82 @@
+package ru.practicum.shareit.common.sql;
+
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Число JDBC-выражений и суммарное время их выполнения в рамках одного
+ * HTTP-запроса. Привязано к потоку обработки запроса.
+ * <p>
+ * Для журнала медленных запросов запоминаются тексты выражений с числом
+ * повторов; у выражений Hibernate параметры уже заменены на {@code ?},
+ * поэтому различных текстов немного, а N+1 виден как один текст с большим счетчиком.
+ */
+public class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private static final String OTHER_STATEMENTS = "<прочие выражения>";
+
+    private int statements;
+
+    private long nanos;
+
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    @Nullable
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void record(@Nullable String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+
+        String key = sql == null ? OTHER_STATEMENTS : sql;
+        if (!statementCounts.containsKey(key) && statementCounts.size() >= MAX_DISTINCT_STATEMENTS) {
+            key = OTHER_STATEMENTS;
+        }
+        statementCounts.merge(key, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Отпечатки выполненных выражений с числом повторов, самые частые первыми.
+     */
+    Map<String, Integer> fingerprints() {
+        Map<String, Integer> fingerprints = new LinkedHashMap<>();
+        statementCounts.forEach((sql, count) -> fingerprints.merge(SqlFingerprints.of(sql), count, Integer::sum));
+
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        fingerprints.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-statistics.enabled", havingValue = "true")
+public class SqlStatisticsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.sql-statistics.slow-request-threshold-ms}") long slowRequestThresholdMs,
+            @Value("${shareit.sql-statistics.statement-threshold}") int statementThreshold) {
+        return new SqlStatisticsFilter(meterRegistry, slowRequestThresholdMs, statementThreshold);
+    }
+}
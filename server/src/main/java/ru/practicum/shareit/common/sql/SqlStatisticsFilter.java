@@ -0,0 +1,97 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Собирает {@link SqlStatistics} на время обработки запроса, публикует метрики
+ * {@code shareit.sql.statements} и {@code shareit.sql.time} с тегами method и uri
+ * и пишет в журнал запросы, которые дольше порога или выполнили слишком много
+ * выражений, вместе с отпечатками их SQL.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC_NAME = "shareit.sql.statements";
+
+    static final String TIME_METRIC_NAME = "shareit.sql.time";
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowRequestThresholdMs;
+
+    private final int statementThreshold;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, long slowRequestThresholdMs, int statementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.finish();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            publish(request, statistics);
+            if (elapsedMs >= slowRequestThresholdMs || statistics.getStatements() > statementThreshold) {
+                logSlowRequest(request, statistics, elapsedMs);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    private void publish(HttpServletRequest request, SqlStatistics statistics) {
+        String method = request.getMethod();
+        String uri = uriTag(request);
+
+        DistributionSummary.builder(STATEMENTS_METRIC_NAME)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder(TIME_METRIC_NAME)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void logSlowRequest(HttpServletRequest request, SqlStatistics statistics, long elapsedMs) {
+        String fingerprints = statistics.fingerprints().entrySet().stream()
+                .map(entry -> entry.getValue() + " x " + entry.getKey())
+                .collect(Collectors.joining("\n  ", "\n  ", ""));
+        log.warn("медленный запрос {} {}: {} мс, SQL-выражений {}, время в БД {} мс{}",
+                request.getMethod(), request.getRequestURI(), elapsedMs,
+                statistics.getStatements(), statistics.getMillis(),
+                statistics.getStatements() > 0 ? fingerprints : "");
+    }
+
+    // шаблон пути вместо самого пути, чтобы id не размножали метрики
+    private static String uriTag(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Добавляет к ответу заголовки {@value #STATEMENTS_HEADER} и {@value #TIME_HEADER}
+ * перед записью тела, пока заголовки еще можно менять. Выражения, выполненные
+ * уже при сериализации (ленивая загрузка в open-in-view), в заголовки не попадают,
+ * но учитываются в метриках и журнале {@link SqlStatisticsFilter}.
+ * <p>
+ * Заголовки нужны для отладки и тестов; в профиле prod они отключены
+ * через {@code shareit.sql-statistics.headers.enabled=false}.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "shareit.sql-statistics.headers.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            response.getHeaders().set(TIME_HEADER, String.valueOf(statistics.getMillis()));
+        }
+        return body;
+    }
+}
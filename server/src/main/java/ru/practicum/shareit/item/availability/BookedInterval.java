@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookedInterval {
+    private final Long bookingId;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+}
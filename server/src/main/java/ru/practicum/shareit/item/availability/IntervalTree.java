@@ -0,0 +1,186 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AVL-дерево интервалов [start, end), упорядоченное по (start, bookingId).
+ * Каждый узел хранит максимальный end своего поддерева, что позволяет
+ * отсекать поддеревья без пересечений с запрошенным диапазоном.
+ * Не потокобезопасно.
+ */
+final class IntervalTree {
+
+    private static final Comparator<BookedInterval> ORDER = Comparator
+            .comparing(BookedInterval::getStart)
+            .thenComparing(BookedInterval::getBookingId);
+
+    private final Map<Long, BookedInterval> intervalsByBookingId = new HashMap<>();
+
+    private Node root;
+
+    void put(BookedInterval interval) {
+        BookedInterval previous = intervalsByBookingId.put(interval.getBookingId(), interval);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+        root = insert(root, interval);
+    }
+
+    void remove(Long bookingId) {
+        BookedInterval previous = intervalsByBookingId.remove(bookingId);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+    }
+
+    /**
+     * Интервалы, пересекающиеся с [from, to), в порядке возрастания начала.
+     */
+    List<BookedInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookedInterval> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    int size() {
+        return intervalsByBookingId.size();
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    private void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, List<BookedInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+
+        collectOverlapping(node.left, from, to, result);
+
+        if (!node.interval.getStart().isBefore(to)) {
+            return;
+        }
+        if (node.interval.getEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+
+        collectOverlapping(node.right, from, to, result);
+    }
+
+    private Node insert(Node node, BookedInterval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+
+        if (ORDER.compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, BookedInterval interval) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = ORDER.compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = delete(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, interval);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = delete(node.right, successor.interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+
+        LocalDateTime maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private BookedInterval interval;
+
+        private LocalDateTime maxEnd;
+
+        private int height;
+
+        private Node left;
+
+        private Node right;
+
+        private Node(BookedInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+            this.height = 1;
+        }
+    }
+}
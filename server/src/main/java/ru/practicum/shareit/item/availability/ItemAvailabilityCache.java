@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.AfterCommit;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Календарь занятости вещей: по дереву интервалов APPROVED/WAITING бронирований
+ * на каждую вещь. Дерево строится из БД при первом обращении к вещи, после чего
+ * поддерживается изменениями из BookingServiceImpl, применяемыми после коммита.
+ * Число деревьев ограничено: давно не запрошенные вещи вытесняются по LRU.
+ */
+@Component
+@Slf4j
+public class ItemAvailabilityCache {
+
+    static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, IntervalTree> trees;
+
+    // загрузки, идущие сейчас, по вещам: изменение бронирования вещи поднимает версию ее загрузки,
+    // чтобы дерево, прочитанное до коммита, не попало в кэш после него; изменения других вещей ее не трогают
+    private final Map<Long, PendingLoad> pendingLoads = new HashMap<>();
+
+    public ItemAvailabilityCache(BookingRepository bookingRepository,
+                                 @Value("${shareit.item-availability-cache.max-size:10000}") int maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IntervalTree> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public boolean isLoaded(Long itemId) {
+        synchronized (trees) {
+            return trees.containsKey(itemId);
+        }
+    }
+
+    public List<BookedInterval> findBusyIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        IntervalTree tree = getOrLoad(itemId);
+        synchronized (tree) {
+            return tree.findOverlapping(from, to);
+        }
+    }
+
+    public void onBookingSaved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookedInterval interval = new BookedInterval(booking.getId(), booking.getStartDate(), booking.getEndDate());
+        boolean busy = BUSY_STATUSES.contains(booking.getStatus());
+
+        AfterCommit.run(() -> {
+            IntervalTree tree;
+            synchronized (trees) {
+                PendingLoad pending = pendingLoads.get(itemId);
+                if (pending != null) {
+                    pending.version++;
+                }
+                tree = trees.get(itemId);
+            }
+            if (tree == null) {
+                return;
+            }
+
+            synchronized (tree) {
+                if (busy) {
+                    tree.put(interval);
+                } else {
+                    tree.remove(interval.getBookingId());
+                }
+            }
+        });
+    }
+
+    int size() {
+        synchronized (trees) {
+            return trees.size();
+        }
+    }
+
+    // запрос к БД выполняется вне блокировки; при гонке двух загрузок в кэше остается первое дерево
+    private IntervalTree getOrLoad(Long itemId) {
+        PendingLoad pending;
+        long loadVersion;
+        synchronized (trees) {
+            IntervalTree tree = trees.get(itemId);
+            if (tree != null) {
+                return tree;
+            }
+            pending = pendingLoads.computeIfAbsent(itemId, id -> new PendingLoad());
+            pending.loaders++;
+            loadVersion = pending.version;
+        }
+
+        IntervalTree loaded = null;
+        try {
+            loaded = load(itemId);
+        } finally {
+            synchronized (trees) {
+                if (--pending.loaders == 0) {
+                    pendingLoads.remove(itemId);
+                }
+                IntervalTree tree = trees.get(itemId);
+                if (tree != null) {
+                    loaded = tree;
+                } else if (loaded != null && pending.version == loadVersion) {
+                    trees.put(itemId, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private IntervalTree load(Long itemId) {
+        IntervalTree tree = new IntervalTree();
+        bookingRepository.findBookedIntervals(itemId, BUSY_STATUSES).forEach(tree::put);
+        log.debug("календарь вещи {} загружен: {} бронирований", itemId, tree.size());
+        return tree;
+    }
+
+    private static final class PendingLoad {
+        private int loaders;
+        private long version;
+    }
+}
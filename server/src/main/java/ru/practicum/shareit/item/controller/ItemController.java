@@ -2,12 +2,17 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.LogPayload;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -28,7 +33,7 @@ public class ItemController {
                               @RequestBody @Valid ItemDto itemDto) {
         log.info("got request POST /items");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
-        log.info("request body: {}", itemDto);
+        log.info("request body: {}", LogPayload.of(itemDto));
         return itemService.createItem(userId, itemDto);
     }
 
@@ -39,7 +44,7 @@ public class ItemController {
         log.info("got request PATCH /items/{itemId}");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
         log.info("itemId = {}", itemId);
-        log.info("request body: {}", itemUpdateDto);
+        log.info("request body: {}", LogPayload.of(itemUpdateDto));
         return itemService.updateItem(userId, itemId, itemUpdateDto);
     }
 
@@ -53,23 +58,32 @@ public class ItemController {
     }
 
     @GetMapping
-    public Collection<ItemDtoWithBooking> getAllUserItems(@RequestHeader(USER_ID_HEADER) Long userId) {
+    public Collection<ItemDtoWithBooking> getAllUserItems(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(name = "afterId", required = false) @PositiveOrZero Long afterId,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
         log.info("got request GET /items");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
-        return itemService.getAllUserItems(userId);
+        log.info("pagination parameters: afterId = {}, from = {}, size = {}", afterId, from, size);
+        return itemService.getAllUserItems(userId, afterId, from, size);
     }
 
     @GetMapping(value = "/search")
-    public Collection<ItemDto> getAvailableItemsByKeyWord(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                          @RequestParam(name = "text") String keyWord) {
+    public Collection<ItemDto> getAvailableItemsByKeyWord(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(name = "text") String keyWord,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
         log.info("got request GET /items/search");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
         log.info("text = {}", keyWord);
+        log.info("pagination parameters: from = {}, size = {}", from, size);
         if (keyWord.isBlank()) {
             return new ArrayList<>();
         }
 
-        return itemService.getAvailableItemsByKeyWord(userId, keyWord);
+        return itemService.getAvailableItemsByKeyWord(userId, keyWord, from, size);
     }
 
     @PostMapping(value = "/{itemId}/comment")
@@ -79,8 +93,20 @@ public class ItemController {
         log.info("got request POST /items/{itemId}/comment");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
         log.info("itemId = {}", itemId);
-        log.info("request body = {}", commentDto);
+        log.info("request body = {}", LogPayload.of(commentDto));
 
         return itemService.addComment(userId, itemId, commentDto);
     }
+
+    @GetMapping(value = "/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @PathVariable("itemId") Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("got request GET /items/{itemId}/availability");
+        log.info(USER_ID_HEADER_LOG_PLACEHOLDER, USER_ID_HEADER, userId);
+        log.info("itemId = {}, from = {}, to = {}", itemId, from, to);
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
 }
@@ -42,4 +42,10 @@ public class ItemErrorHandler extends BaseErrorHandler {
     public ErrorResponse handleUserIsNotBookerException(final UserIsNotBookerException e) {
         return commonErrorResponse(e, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidAvailabilityRangeException(final InvalidAvailabilityRangeException e) {
+        return commonErrorResponse(e, HttpStatus.BAD_REQUEST);
+    }
 }
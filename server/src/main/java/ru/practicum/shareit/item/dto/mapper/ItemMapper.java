@@ -1,15 +1,20 @@
 package ru.practicum.shareit.item.dto.mapper;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.availability.BookedInterval;
 import ru.practicum.shareit.item.dto.BookingMetaData;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -56,29 +61,47 @@ public class ItemMapper {
 
     public ItemDtoWithBooking toItemDtoWithBooking(final Item item,
                                                    final List<Comment> comments,
-                                                   final Booking lastBooking,
-                                                   final Booking nextBooking) {
-        ItemDtoWithBooking dto = new ItemDtoWithBooking();
+                                                   final BookingMetaData lastBooking,
+                                                   final BookingMetaData nextBooking) {
+        ItemDtoWithBooking dto = toItemDtoWithBooking(item, comments);
+        dto.setLastBooking(lastBooking);
+        dto.setNextBooking(nextBooking);
 
-        dto.setItem(item);
+        return dto;
+    }
 
-        List<CommentDtoResponse> commentsDto =
-                comments.stream()
-                        .map(CommentMapper::toCommentResponse)
-                        .collect(Collectors.toList());
-        dto.setComments(commentsDto);
+    public BookingMetaData toBookingMetaData(final BookingShortDto booking) {
+        if (booking == null) {
+            return null;
+        }
 
-        dto.setLastBooking(
-                lastBooking != null
-                        ? new BookingMetaData(lastBooking.getId(),
-                        lastBooking.getBooker().getId())
-                        : null);
-        dto.setNextBooking(
-                nextBooking != null
-                        ? new BookingMetaData(nextBooking.getId(),
-                        nextBooking.getBooker().getId())
-                        : null);
+        return new BookingMetaData(booking.getId(), booking.getBookerId());
+    }
 
-        return dto;
+    public ItemAvailabilityDto toItemAvailabilityDto(final Long itemId,
+                                                     final LocalDateTime from,
+                                                     final LocalDateTime to,
+                                                     final List<BookedInterval> busyIntervals) {
+        List<TimeSlotDto> freeSlots = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookedInterval busy : busyIntervals) {
+            if (busy.getStart().isAfter(freeFrom)) {
+                freeSlots.add(new TimeSlotDto(freeFrom, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(freeFrom)) {
+                freeFrom = busy.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            freeSlots.add(new TimeSlotDto(freeFrom, to));
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(busyIntervals.isEmpty())
+                .freeSlots(freeSlots)
+                .build();
     }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.exception;
+
+public class InvalidAvailabilityRangeException extends RuntimeException {
+    public InvalidAvailabilityRangeException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,21 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    // условие по внешнему ключу, а не по присоединенной вещи, чтобы работал ix_comments_item
+    @Query("select c from Comment as c where c.item.id = ?1")
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query("select c " +
+            "from Comment as c " +
+            "join fetch c.author " +
+            "where c.item.id in ?1 " +
+            "order by c.id asc")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -1,15 +1,39 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Collection<Item> findAllByOwnerId(long userId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(long itemId);
 
-    // TODO сделать правильный поиск (по имени тоже)
-    Collection<Item> findAllByAvailableTrueAndDescriptionContainingIgnoreCase(String keyWord);
+    List<Item> findAllByOwnerIdOrderByIdAsc(long userId, Pageable pageable);
+
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(long userId, long afterId, Pageable pageable);
+
+    @Query("select i " +
+            "from Item as i " +
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by i.id asc")
+    List<Item> searchAvailable(String text, Pageable pageable);
+
+    @Query("select i " +
+            "from Item as i " +
+            "join fetch i.owner " +
+            "where i.request.id in ?1 " +
+            "order by i.id asc")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 
 }
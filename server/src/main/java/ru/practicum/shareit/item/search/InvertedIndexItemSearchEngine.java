@@ -0,0 +1,202 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Инвертированный индекс по словам названия и описания доступных вещей.
+ * <p>
+ * Слово запроса совпадает со словом вещи, если входит в него подстрокой,
+ * как {@code %text%} в {@link SqlItemSearchEngine}: "ртка" находит "Отвертка".
+ * Для этого в индекс попадают все суффиксы слов, и поиск идет по префиксу суффикса.
+ * В отличие от SQL-движка, слова запроса ищутся независимо, а не одной фразой:
+ * "простая дрель" находит и "Дрель" без слова "простая".
+ * Совпадение в названии весит больше, чем в описании; результат упорядочен
+ * по убыванию суммарного веса, затем по id. Индекс строится из базы при первом
+ * поиске и обновляется после коммита каждого сохранения вещи.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    // суффиксы слов вещи с наибольшим весом поля, в котором они встретились
+    private final Map<Long, Map<String, Integer>> itemSuffixes = new ConcurrentHashMap<>();
+
+    // не монитор: загрузка индекса читает базу, а блокирующий JDBC внутри synchronized
+    // закрепляет виртуальный поток за потоком-носителем (shareit.virtual-threads.enabled)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean loaded = false;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        ensureLoaded();
+
+        List<String> queryTerms = tokenize(text);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            for (Map.Entry<String, Set<Long>> posting : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                for (Long itemId : posting.getValue()) {
+                    Integer weight = itemSuffixes.getOrDefault(itemId, Map.of()).get(posting.getKey());
+                    if (weight != null) {
+                        termScores.merge(itemId, weight, Math::max);
+                    }
+                }
+            }
+            termScores.forEach((itemId, weight) -> scores.merge(itemId, weight, Integer::sum));
+        }
+
+        List<Long> rankedIds = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        // доступность проверяется по базе до отступа from: индекс может отставать от нее,
+        // и отфильтрованные после выбора страницы вещи укоротили бы страницу
+        List<Item> page = new ArrayList<>();
+        int skipped = 0;
+        int next = 0;
+        int batchSize = from + size;
+        while (page.size() < size && next < rankedIds.size()) {
+            List<Long> batchIds = rankedIds.subList(next, Math.min(next + batchSize, rankedIds.size()));
+            next += batchIds.size();
+            batchSize = size;
+
+            Map<Long, Item> items = itemRepository.findAllById(batchIds).stream()
+                    .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            for (Long itemId : batchIds) {
+                Item item = items.get(itemId);
+                if (item == null) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                } else if (page.size() < size) {
+                    page.add(item);
+                }
+            }
+        }
+        log.info("поиск по индексу: запрос '{}', найдено {}, на странице {}", text, scores.size(), page.size());
+
+        return page;
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        AfterCommit.run(() -> index(item));
+    }
+
+    void index(Item item) {
+        lock.lock();
+        try {
+            Long itemId = item.getId();
+            remove(itemId);
+
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return;
+            }
+
+            Map<String, Integer> suffixes = new HashMap<>();
+            addSuffixes(suffixes, item.getDescription(), DESCRIPTION_WEIGHT);
+            addSuffixes(suffixes, item.getName(), NAME_WEIGHT);
+
+            itemSuffixes.put(itemId, suffixes);
+            suffixes.keySet().forEach(suffix ->
+                    postings.computeIfAbsent(suffix, t -> ConcurrentHashMap.newKeySet()).add(itemId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void addSuffixes(Map<String, Integer> suffixes, String text, int weight) {
+        for (String term : tokenize(text)) {
+            for (int i = 0; i < term.length(); i++) {
+                suffixes.merge(term.substring(i), weight, Math::max);
+            }
+        }
+    }
+
+    private void remove(Long itemId) {
+        Map<String, Integer> suffixes = itemSuffixes.remove(itemId);
+        if (suffixes == null) {
+            return;
+        }
+
+        for (String suffix : suffixes.keySet()) {
+            postings.computeIfPresent(suffix, (t, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+
+            Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+            Page<Item> page;
+            do {
+                page = itemRepository.findAll(pageable);
+                page.forEach(this::index);
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+
+            loaded = true;
+            log.info("индекс поиска вещей построен: {} вещей, {} суффиксов", itemSuffixes.size(), postings.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных для бронирования вещей по тексту в названии и описании.
+ * Реализация выбирается свойством {@code shareit.search.engine}.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Возвращает страницу доступных вещей, наиболее релевантных тексту запроса.
+     */
+    List<Item> search(String text, int from, int size);
+
+    /**
+     * Вызывается после сохранения вещи, чтобы движок мог обновить свои структуры.
+     * Изменения в памяти движок должен применять только после коммита транзакции.
+     */
+    default void onItemSaved(Item item) {
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -11,9 +12,11 @@ public interface ItemService {
 
     ItemDtoWithBooking getItemById(Long userId, Long itemId);
 
-    Collection<ItemDtoWithBooking> getAllUserItems(Long userId);
+    Collection<ItemDtoWithBooking> getAllUserItems(Long userId, Long afterId, Integer from, Integer size);
 
-    Collection<ItemDto> getAvailableItemsByKeyWord(Long userId, String keyWord);
+    Collection<ItemDto> getAvailableItemsByKeyWord(Long userId, String keyWord, Integer from, Integer size);
 
     CommentDtoResponse addComment(Long userId, Long itemId, CommentDto commentDto);
+
+    ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
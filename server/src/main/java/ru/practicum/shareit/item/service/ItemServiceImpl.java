@@ -2,17 +2,26 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.LogPayload;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.availability.BookedInterval;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
+import ru.practicum.shareit.item.dto.BookingMetaData;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.exception.InvalidAvailabilityRangeException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.UserIsNotBookerException;
 import ru.practicum.shareit.item.exception.UserIsNotOwnerException;
@@ -20,17 +29,20 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,6 +60,12 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final UserExistenceCache userExistenceCache;
+
+    private final ItemAvailabilityCache itemAvailabilityCache;
+
     @Override
     @Transactional
     public ItemDto createItem(Long userId, ItemDto itemDto) {
@@ -62,6 +80,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item created = itemRepository.save(item);
+        itemSearchEngine.onItemSaved(created);
         log.info("предмет создан; id: {}", created.getId());
 
         return ItemMapper.toItemDto(created);
@@ -83,6 +102,7 @@ public class ItemServiceImpl implements ItemService {
         itemToUpdate = mapItemWithNullFields(oldItem, itemToUpdate);
 
         Item updated = itemRepository.save(itemToUpdate);
+        itemSearchEngine.onItemSaved(updated);
 
         log.info("предмет с id {} обновлен", updated.getId());
         return ItemMapper.toItemDto(updated);
@@ -91,61 +111,66 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public ItemDtoWithBooking getItemById(Long userId, Long itemId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
+        ensureUserExists(userId);
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> generateItemNotFoundException(itemId));
         log.info("найден предмет с id {}", item.getId());
 
         List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        log.info("найденные комментарии к вещи: {}", comments);
+        log.info("найдено {} комментариев к предмету {}", comments.size(), itemId);
+        log.debug("комментарии к предмету {}: {}", itemId, LogPayload.sampled(comments));
 
         if (!item.getOwner().getId().equals(userId)) {
-            log.info("пользователь {} не является владельцем предмета {}", userId, item);
+            log.info("пользователь {} не является владельцем предмета {}", userId, itemId);
             return ItemMapper.toItemDtoWithBooking(item, comments);
         }
 
-        BookingStatus status = BookingStatus.APPROVED;
-        List<Booking> bookings = bookingRepository.findAllByItemAndStatusOrderByStartDateAsc(item, status);
-        log.info("найденные бронирования для вещи {} со статусом {}: {}", item, status, bookings);
-
+        List<Long> itemIds = List.of(itemId);
         LocalDateTime now = LocalDateTime.now();
-        Booking lastBooking = getLastBooking(bookings, now);
-        log.info("последнее бронироварие: {}", lastBooking);
-        Booking nextBooking = getNextBooking(bookings, now);
-        log.info("следующее бронирование: {}", nextBooking);
+        BookingMetaData lastBooking = ItemMapper.toBookingMetaData(
+                findLastBookings(itemIds, now).get(itemId));
+        log.debug("последнее бронирование: {}", lastBooking);
+        BookingMetaData nextBooking = ItemMapper.toBookingMetaData(
+                findNextBookings(itemIds, now).get(itemId));
+        log.debug("следующее бронирование: {}", nextBooking);
 
         return ItemMapper.toItemDtoWithBooking(item, comments, lastBooking, nextBooking);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<ItemDtoWithBooking> getAllUserItems(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
+    public Collection<ItemDtoWithBooking> getAllUserItems(Long userId, Long afterId, Integer from, Integer size) {
+        ensureUserExists(userId);
+
+        List<Item> ownerItems = afterId != null
+                ? itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, afterId, PageRequest.of(0, size))
+                : itemRepository.findAllByOwnerIdOrderByIdAsc(userId, OffsetPageRequest.of(from, size));
+        log.info("найдено {} предметов пользователя {}", ownerItems.size(), userId);
 
-        List<Item> ownerItems = new ArrayList<>(itemRepository.findAllByOwnerId(userId)).stream()
-                .sorted(Comparator.comparing(Item::getId))
+        if (ownerItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> itemIds = ownerItems.stream()
+                .map(Item::getId)
                 .collect(Collectors.toList());
-        log.info("найденные предметы пользователя: {}", ownerItems);
+
+        Map<Long, List<Comment>> commentsByItemId = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShortDto> lastBookings = findLastBookings(itemIds, now);
+        Map<Long, BookingShortDto> nextBookings = findNextBookings(itemIds, now);
+        log.info("загружены комментарии и соседние бронирования для {} предметов", itemIds.size());
 
         List<ItemDtoWithBooking> dtos = new ArrayList<>();
         for (Item item : ownerItems) {
             Long itemId = item.getId();
 
-            List<Comment> comments = commentRepository.findAllByItemId(itemId);
-            log.info("найденные комментарии к вещи: {}", comments);
-
-            BookingStatus status = BookingStatus.APPROVED;
-            List<Booking> bookings = bookingRepository.findAllByItemAndStatusOrderByStartDateAsc(item, status);
-            log.info("найденные бронирования для вещи {} со статусом {}: {}", item, status, bookings);
-
-            LocalDateTime now = LocalDateTime.now();
-            Booking lastBooking = getLastBooking(bookings, now);
-            log.info("последнее бронироварие: {}", lastBooking);
-            Booking nextBooking = getNextBooking(bookings, now);
-            log.info("следующее бронирование: {}", nextBooking);
+            List<Comment> comments = commentsByItemId.getOrDefault(itemId, List.of());
+            BookingMetaData lastBooking = ItemMapper.toBookingMetaData(lastBookings.get(itemId));
+            BookingMetaData nextBooking = ItemMapper.toBookingMetaData(nextBookings.get(itemId));
 
             dtos.add(ItemMapper.toItemDtoWithBooking(item, comments, lastBooking, nextBooking));
         }
@@ -155,12 +180,11 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<ItemDto> getAvailableItemsByKeyWord(Long userId, String keyWord) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
+    public Collection<ItemDto> getAvailableItemsByKeyWord(Long userId, String keyWord, Integer from, Integer size) {
+        ensureUserExists(userId);
 
-        log.info("найдены предметы пользователя {} по ключевому слову {}", userId, keyWord);
-        return itemRepository.findAllByAvailableTrueAndDescriptionContainingIgnoreCase(keyWord).stream()
+        log.info("поиск предметов для пользователя {} по ключевому слову {}", userId, keyWord);
+        return itemSearchEngine.search(keyWord, from, size).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -188,6 +212,25 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentResponse(saved);
     }
 
+    // без @Transactional: при попадании в кэш запрос не должен занимать соединение с БД
+    @Override
+    public ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            String message = "начало периода " + from + " должно быть раньше его окончания " + to;
+            log.error(message);
+            throw new InvalidAvailabilityRangeException(message);
+        }
+
+        ensureUserExists(userId);
+
+        if (!itemAvailabilityCache.isLoaded(itemId) && !itemRepository.existsById(itemId)) {
+            throw generateItemNotFoundException(itemId);
+        }
+
+        List<BookedInterval> busyIntervals = itemAvailabilityCache.findBusyIntervals(itemId, from, to);
+        return ItemMapper.toItemAvailabilityDto(itemId, from, to, busyIntervals);
+    }
+
     private void ensureUserIsOwner(final User user, final Item item) {
         final Long itemOwnerId = item.getOwner().getId();
         final Long userId = user.getId();
@@ -218,25 +261,27 @@ public class ItemServiceImpl implements ItemService {
         return new ItemNotFoundException(message);
     }
 
+    private void ensureUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw generateUserNotFoundException(userId);
+        }
+    }
+
     private UserNotFoundException generateUserNotFoundException(long userId) {
         String message = "пользователь с id " + userId + " не существует";
         log.error(message);
         return new UserNotFoundException(message);
     }
 
-    private Booking getLastBooking(List<Booking> bookings, LocalDateTime time) {
-        return bookings
-                .stream()
-                .filter(booking -> !booking.getStartDate().isAfter(time))
-                .reduce((booking1, booking2) -> booking1.getStartDate().isAfter(booking2.getStartDate()) ? booking1 : booking2)
-                .orElse(null);
+    private Map<Long, BookingShortDto> findLastBookings(Collection<Long> itemIds, LocalDateTime now) {
+        return bookingRepository.findLastBookingsForItems(itemIds, BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(BookingShortDto::getItemId, Function.identity(),
+                        (b1, b2) -> b1.getId() > b2.getId() ? b1 : b2));
     }
 
-    private Booking getNextBooking(List<Booking> bookings, LocalDateTime time) {
-        return bookings
-                .stream()
-                .filter(booking -> booking.getStartDate().isAfter(time))
-                .findFirst()
-                .orElse(null);
+    private Map<Long, BookingShortDto> findNextBookings(Collection<Long> itemIds, LocalDateTime now) {
+        return bookingRepository.findNextBookingsForItems(itemIds, BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(BookingShortDto::getItemId, Function.identity(),
+                        (b1, b2) -> b1.getId() < b2.getId() ? b1 : b2));
     }
 }
@@ -2,8 +2,10 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.LogPayload;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -11,6 +13,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -31,7 +34,7 @@ public class ItemRequestController {
                                                     @RequestBody @Valid ItemRequestRequestDto itemRequestRequestDto) {
         log.info("got request POST /requests");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, userId);
-        log.info("request body: {}", itemRequestRequestDto);
+        log.info("request body: {}", LogPayload.of(itemRequestRequestDto));
         return itemRequestService.createItemRequest(userId, itemRequestRequestDto);
     }
 
@@ -45,12 +48,15 @@ public class ItemRequestController {
     @GetMapping(value = "/all")
     public Collection<ItemRequestResponseDto> getItemRequestFromOtherUsers(
             @RequestHeader(value = USER_ID_HEADER) Long userId,
+            @RequestParam(name = "afterCreated", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreated,
+            @RequestParam(name = "afterId", required = false) @PositiveOrZero Long afterId,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
             @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
         log.info("got request GET /requests/all");
         log.info(USER_ID_HEADER_LOG_PLACEHOLDER, userId);
-        log.info("from = {}, size = {}", from, size);
-        return itemRequestService.getItemRequestFromOtherUsers(userId, from, size);
+        log.info("afterCreated = {}, afterId = {}, from = {}, size = {}", afterCreated, afterId, from, size);
+        return itemRequestService.getItemRequestFromOtherUsers(userId, afterCreated, afterId, from, size);
     }
 
     @GetMapping("/{requestId}")
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.dto;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -17,9 +18,14 @@ import java.util.stream.Collectors;
 public class ItemRequestMapper {
     public ItemRequestResponseDto
     toItemRequestResponseDto(ItemRequest itemRequest) {
+        return toItemRequestResponseDto(itemRequest, itemRequest.getItems());
+    }
+
+    public ItemRequestResponseDto
+    toItemRequestResponseDto(ItemRequest itemRequest, List<Item> requestItems) {
         List<ItemDto> items = new ArrayList<>();
-        if (Objects.nonNull(itemRequest.getItems())) {
-            items = itemRequest.getItems()
+        if (Objects.nonNull(requestItems)) {
+            items = requestItems
                     .stream()
                     .map(ItemMapper::toItemDto)
                     .collect(Collectors.toList());
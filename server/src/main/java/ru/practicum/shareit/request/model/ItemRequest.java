@@ -34,5 +34,7 @@ public class ItemRequest {
 
     @OneToMany
     @JoinColumn(name = "request_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Item> items;
 }
@@ -1,17 +1,38 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    // условие по внешнему ключу запроса, а не по присоединенному пользователю, чтобы работал ix_requests_requester_created
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id = ?1")
     Collection<ItemRequest> findAllByRequesterId(long userId);
 
-    List<ItemRequest> findAllByRequester_IdNotOrderByCreatedDesc(long userId, Pageable pageable);
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherUsersRequests(long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherUsersRequestsBefore(long userId, LocalDateTime created, long id, Pageable pageable);
 }
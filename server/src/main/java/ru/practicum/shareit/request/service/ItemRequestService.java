@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemRequestService {
@@ -10,7 +11,11 @@ public interface ItemRequestService {
 
     Collection<ItemRequestResponseDto> getUserItemRequests(Long userId);
 
-    Collection<ItemRequestResponseDto> getItemRequestFromOtherUsers(Long userId, Integer from, Integer size);
+    Collection<ItemRequestResponseDto> getItemRequestFromOtherUsers(Long userId,
+                                                                    LocalDateTime afterCreated,
+                                                                    Long afterId,
+                                                                    Integer from,
+                                                                    Integer size);
 
     ItemRequestResponseDto getItemRequestById(Long userId, Long requestId);
 }
@@ -5,6 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.LogPayload;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -14,9 +18,12 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +35,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemRepository itemRepository;
+
+    private final UserExistenceCache userExistenceCache;
+
     @Override
     @Transactional
     public ItemRequestResponseDto createItemRequest(Long userId, ItemRequestRequestDto itemRequestRequestDto) {
@@ -37,7 +48,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestRequestDto, user);
 
         ItemRequest created = itemRequestRepository.save(itemRequest);
-        log.info("запрос вещи добавлен: {}", created);
+        log.info("запрос вещи добавлен; id: {}", created.getId());
+        log.debug("запрос вещи: {}", LogPayload.of(created));
 
         return ItemRequestMapper.toItemRequestResponseDto(created);
     }
@@ -45,46 +57,71 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemRequestResponseDto> getUserItemRequests(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
+        ensureUserExists(userId);
 
         Collection<ItemRequest> itemRequests = itemRequestRepository
                 .findAllByRequesterId(userId);
-        log.info("список запросов вещей пользователя {} : {}", user, itemRequests);
+        log.info("найдено {} запросов вещей пользователя {}", itemRequests.size(), userId);
+        log.debug("запросы вещей пользователя {}: {}", userId, LogPayload.sampled(itemRequests));
 
-        return itemRequests.stream()
-                .map(ItemRequestMapper::toItemRequestResponseDto)
-                .collect(Collectors.toList());
+        return toItemRequestResponseDtos(itemRequests);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemRequestResponseDto> getItemRequestFromOtherUsers(Long userId, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
-
-        List<ItemRequest> itemRequests = itemRequestRepository
-                .findAllByRequester_IdNotOrderByCreatedDesc(userId, PageRequest.of(from / size, size));
-        log.info("список запросов вещей от других пользователей: {}", itemRequests);
-
-        return itemRequests.stream()
-                .map(ItemRequestMapper::toItemRequestResponseDto)
-                .collect(Collectors.toList());
+    public List<ItemRequestResponseDto> getItemRequestFromOtherUsers(Long userId,
+                                                                     LocalDateTime afterCreated,
+                                                                     Long afterId,
+                                                                     Integer from,
+                                                                     Integer size) {
+        ensureUserExists(userId);
+
+        List<ItemRequest> itemRequests = afterCreated != null && afterId != null
+                ? itemRequestRepository.findOtherUsersRequestsBefore(userId, afterCreated, afterId, PageRequest.of(0, size))
+                : itemRequestRepository.findOtherUsersRequests(userId, OffsetPageRequest.of(from, size));
+        log.info("найдено {} запросов вещей от других пользователей", itemRequests.size());
+        log.debug("запросы вещей от других пользователей: {}", LogPayload.sampled(itemRequests));
+
+        return toItemRequestResponseDtos(itemRequests);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequestResponseDto getItemRequestById(Long userId, Long requestId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> generateUserNotFoundException(userId));
+        ensureUserExists(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> generateItemRequestNotFoundException(requestId));
-        log.info("запрос вещи {} по id {}", itemRequest, requestId);
+        log.info("найден запрос вещи с id {}", requestId);
+        log.debug("запрос вещи: {}", LogPayload.of(itemRequest));
 
         return ItemRequestMapper.toItemRequestResponseDto(itemRequest);
     }
 
+    private List<ItemRequestResponseDto> toItemRequestResponseDtos(Collection<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestResponseDto(
+                        itemRequest, itemsByRequestId.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw generateUserNotFoundException(userId);
+        }
+    }
+
     private UserNotFoundException generateUserNotFoundException(long userId) {
         String message = "пользователь с id " + userId + " не существует";
         log.error(message);
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.LogPayload;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -26,7 +27,7 @@ public class UserController {
     @PostMapping
     public UserDto createUser(@RequestBody @Valid UserDto userDto) {
         log.info("got request POST /users");
-        log.info(REQUEST_BODY_LOG_PLACEHOLDER, userDto);
+        log.info(REQUEST_BODY_LOG_PLACEHOLDER, LogPayload.of(userDto));
 
         return userService.createUser(userDto);
     }
@@ -36,7 +37,7 @@ public class UserController {
                              @RequestBody @Valid UserUpdateDto userUpdateDto) {
         log.info("got request PATCH /users/{userId}");
         log.info(USER_ID_LOG_PLACEHOLDER, userId);
-        log.info(REQUEST_BODY_LOG_PLACEHOLDER, userUpdateDto);
+        log.info(REQUEST_BODY_LOG_PLACEHOLDER, LogPayload.of(userUpdateDto));
 
         userUpdateDto.setId(userId);
         return userService.updateUser(userUpdateDto);
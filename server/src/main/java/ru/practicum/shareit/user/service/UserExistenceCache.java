@@ -0,0 +1,99 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный LRU-кэш id существующих пользователей.
+ * Хранит только положительные ответы, поэтому удалённый пользователь
+ * должен быть явно вытеснен через {@link #evict(Long)} после коммита удаления.
+ * Запрос к базе выполняется вне монитора {@code knownUsers}: под ним только
+ * операции с картой, поэтому виртуальный поток не закрепляется на время JDBC.
+ */
+@Component
+@Slf4j
+public class UserExistenceCache {
+
+    private static final String METRIC_NAME = "shareit.user.existence.cache";
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Boolean> knownUsers;
+
+    // растет при каждом вытеснении, чтобы ответ БД, прочитанный до удаления, не попал в кэш после него
+    private long generation;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public UserExistenceCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.user-existence-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.knownUsers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", this, UserExistenceCache::size)
+                .register(meterRegistry);
+    }
+
+    public boolean exists(Long userId) {
+        long lookupGeneration;
+        synchronized (knownUsers) {
+            if (knownUsers.get(userId) != null) {
+                hits.increment();
+                return true;
+            }
+            lookupGeneration = generation;
+        }
+
+        misses.increment();
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            synchronized (knownUsers) {
+                if (generation == lookupGeneration) {
+                    knownUsers.put(userId, Boolean.TRUE);
+                }
+            }
+        }
+        return exists;
+    }
+
+    public void put(Long userId) {
+        synchronized (knownUsers) {
+            knownUsers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (knownUsers) {
+            generation++;
+            knownUsers.remove(userId);
+        }
+        log.debug("пользователь с id {} вытеснен из кэша", userId);
+    }
+
+    int size() {
+        synchronized (knownUsers) {
+            return knownUsers.size();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.AfterCommit;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.dto.mapper.UserMapper;
@@ -21,12 +22,15 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final UserExistenceCache userExistenceCache;
+
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
 
         User created = userRepository.save(user);
+        AfterCommit.run(() -> userExistenceCache.put(created.getId()));
 
         log.info("пользователь создан; id: {}", created.getId());
         return UserMapper.toUserDto(created);
@@ -63,6 +67,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUserById(Long userId) {
         userRepository.deleteById(userId);
+        AfterCommit.run(() -> userExistenceCache.evict(userId));
         log.info("пользователь с id {} удалён", userId);
     }
 
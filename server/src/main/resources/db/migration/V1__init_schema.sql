@@ -49,3 +49,7 @@ CREATE TABLE IF NOT EXISTS comments (
   CONSTRAINT fk_comments_item_id FOREIGN KEY (item_id) REFERENCES items(id),
   CONSTRAINT fk_comments_author_id FOREIGN KEY (author_id) REFERENCES users(id)
 );
+
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start_end ON bookings (item_id, start_date, end_date);
@@ -9,13 +9,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.availability.BookedInterval;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -104,6 +105,127 @@ class BookingRepositoryTest {
                 .isEqualTo(expected);
     }
 
+    @Test
+    void findCurrentBookingsForBooker() {
+        List<Booking> bookings = bookingRepository.findCurrentBookingsForBooker(
+                user.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(booking));
+    }
+
+    @Test
+    void findPastBookingsForBooker() {
+        List<Booking> bookings = bookingRepository.findPastBookingsForBooker(
+                user.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(pastBooking));
+    }
+
+    @Test
+    void findFutureBookingsForBooker() {
+        List<Booking> bookings = bookingRepository.findFutureBookingsForBooker(
+                user.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(futureBooking));
+    }
+
+    @Test
+    void findBookingsForBookerWithStatus() {
+        pastBooking.setStatus(BookingStatus.REJECTED);
+        bookingRepository.save(pastBooking);
+
+        List<Booking> rejected = bookingRepository.findBookingsForBookerWithStatus(
+                user.getId(), BookingStatus.REJECTED, PageRequest.of(0, 10));
+        List<Booking> waiting = bookingRepository.findBookingsForBookerWithStatus(
+                user.getId(), BookingStatus.WAITING, PageRequest.of(0, 10));
+
+        assertThat(rejected)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(pastBooking));
+        assertThat(waiting).isEmpty();
+    }
+
+    @Test
+    void findAllBookingsForBookerByStatus_shouldHonourPageSize() {
+        List<Booking> bookings = bookingRepository.findAllBookingsForBookerByStatus(user.getId(), PageRequest.of(0, 2));
+
+        assertThat(bookings)
+                .hasSize(2)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(futureBooking, booking));
+    }
+
+    @Test
+    void findAllBookingsForOwner() {
+        List<Booking> bookings = bookingRepository.findAllBookingsForOwner(owner.getId(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(3)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(futureBooking, booking, pastBooking));
+    }
+
+    @Test
+    void findAllBookingsForOwner_whenUserOwnsNothing_shouldReturnEmptyList() {
+        List<Booking> bookings = bookingRepository.findAllBookingsForOwner(user.getId(), PageRequest.of(0, 10));
+
+        assertThat(bookings).isEmpty();
+    }
+
+    @Test
+    void findCurrentBookingsForOwner() {
+        List<Booking> bookings = bookingRepository.findCurrentBookingsForOwner(
+                owner.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(booking));
+    }
+
+    @Test
+    void findPastBookingsForOwner() {
+        List<Booking> bookings = bookingRepository.findPastBookingsForOwner(
+                owner.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(pastBooking));
+    }
+
+    @Test
+    void findFutureBookingsForOwner() {
+        List<Booking> bookings = bookingRepository.findFutureBookingsForOwner(
+                owner.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(bookings)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(futureBooking));
+    }
+
+    @Test
+    void findBookingsForOwnerWithStatus() {
+        List<Booking> approved = bookingRepository.findBookingsForOwnerWithStatus(
+                owner.getId(), BookingStatus.APPROVED, PageRequest.of(0, 2));
+
+        assertThat(approved)
+                .hasSize(2)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(futureBooking, booking));
+    }
+
     @Test
     void findByBookerId() {
         List<Booking> bookings = bookingRepository.findByBookerId(1L);
@@ -141,21 +263,60 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItemIdIn() {
-        Collection<Long> collection = List.of(item.getId());
-        List<Booking> bookings = bookingRepository.findByItemIdIn(collection, PageRequest.of(0, 10));
+    void findLastBookingsForItems() {
+        List<BookingShortDto> bookings = bookingRepository.findLastBookingsForItems(
+                List.of(item.getId()), BookingStatus.APPROVED, LocalDateTime.now());
 
-        assertThat(
-                bookings.stream()
-                        .sorted(Comparator.comparing(Booking::getId))
-                        .collect(Collectors.toList()))
-                .hasSize(3)
-                .usingRecursiveAssertion()
-                .isEqualTo(expected);
+        assertThat(bookings)
+                .isEqualTo(List.of(new BookingShortDto(item.getId(), booking.getId(), user.getId())));
+    }
+
+    @Test
+    void findNextBookingsForItems() {
+        List<BookingShortDto> bookings = bookingRepository.findNextBookingsForItems(
+                List.of(item.getId()), BookingStatus.APPROVED, LocalDateTime.now());
+
+        assertThat(bookings)
+                .isEqualTo(List.of(new BookingShortDto(item.getId(), futureBooking.getId(), user.getId())));
     }
 
     @Test
-    void findAllByItemAndStatusOrderByStartDateAsc() {
+    void findNextBookingsForItems_shouldIgnoreNotApprovedBookings() {
+        futureBooking.setStatus(BookingStatus.REJECTED);
+        bookingRepository.save(futureBooking);
+
+        List<BookingShortDto> bookings = bookingRepository.findNextBookingsForItems(
+                List.of(item.getId()), BookingStatus.APPROVED, LocalDateTime.now());
+
+        assertThat(bookings).isEmpty();
+    }
+
+    @Test
+    void existsOverlappingBooking() {
+        List<BookingStatus> statuses = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+        LocalDateTime start = futureBooking.getStartDate();
+        LocalDateTime end = futureBooking.getEndDate();
+
+        assertThat(bookingRepository.existsOverlappingBooking(item.getId(), statuses,
+                start.plusHours(1L), end.plusHours(1L))).isTrue();
+        assertThat(bookingRepository.existsOverlappingBooking(item.getId(), statuses,
+                start.minusHours(1L), start.plusHours(1L))).isTrue();
+        assertThat(bookingRepository.existsOverlappingBooking(item.getId(), statuses,
+                end.plusMinutes(1L), end.plusDays(1L))).isFalse();
+        assertThat(bookingRepository.existsOverlappingBooking(item.getId(), List.of(BookingStatus.WAITING),
+                start, end)).isFalse();
+    }
+
+    @Test
+    void findBookedIntervals() {
+        List<BookedInterval> intervals = bookingRepository.findBookedIntervals(item.getId(),
+                List.of(BookingStatus.APPROVED, BookingStatus.WAITING));
+
+        assertThat(intervals)
+                .extracting(BookedInterval::getBookingId)
+                .containsExactlyInAnyOrder(booking.getId(), pastBooking.getId(), futureBooking.getId());
+        assertThat(bookingRepository.findBookedIntervals(item.getId(), List.of(BookingStatus.WAITING)))
+                .isEmpty();
     }
 
     @Test
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.exception.BookingAlreadyRefinedException;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Одновременные решения владельца по одному бронированию: принять должно ровно одно,
+ * второе - получить {@link BookingAlreadyRefinedException}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:booking-refine-concurrency")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingRefineConcurrencyTest {
+
+    private static final long OWNER_ID = 1L;
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @BeforeAll
+    @SneakyThrows
+    void seed() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (name, email) VALUES " +
+                    "('owner', 'owner@email.com'), ('booker', 'booker@email.com')");
+            statement.executeUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                    "VALUES ('item', 'description', TRUE, 1, NULL)");
+            // бронирования не пересекаются между собой, чтобы подтверждение не упиралось в проверку пересечений
+            statement.executeUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, booking_status) " +
+                    "SELECT DATEADD('DAY', 2 * X, CURRENT_TIMESTAMP), DATEADD('DAY', 2 * X + 1, CURRENT_TIMESTAMP), " +
+                    "1, 2, 'WAITING' FROM SYSTEM_RANGE(1, " + 2 * ROUNDS + ")");
+        }
+    }
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void refineBooking_whenApprovedAndRejectedConcurrently_shouldApplyExactlyOne() {
+        for (long bookingId = 1; bookingId <= ROUNDS; bookingId++) {
+            List<Object> outcomes = race(bookingId, true, false);
+
+            assertThat(outcomes).filteredOn(BookingAlreadyRefinedException.class::isInstance).hasSize(1);
+            BookingStatus winner = (BookingStatus) outcomes.stream()
+                    .filter(BookingStatus.class::isInstance)
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(bookingRepository.findStatusById(bookingId)).contains(winner);
+        }
+    }
+
+    @Test
+    void refineBooking_whenApprovedTwiceConcurrently_shouldApplyExactlyOne() {
+        for (long bookingId = ROUNDS + 1; bookingId <= 2 * ROUNDS; bookingId++) {
+            List<Object> outcomes = race(bookingId, true, true);
+
+            assertThat(outcomes).filteredOn(BookingAlreadyRefinedException.class::isInstance).hasSize(1);
+            assertThat(outcomes).contains(BookingStatus.APPROVED);
+            assertThat(bookingRepository.findStatusById(bookingId)).contains(BookingStatus.APPROVED);
+        }
+    }
+
+    // возвращает для каждого решения либо итоговый статус, либо брошенное исключение
+    @SneakyThrows
+    private List<Object> race(long bookingId, boolean first, boolean second) {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<Future<BookingStatus>> futures = new ArrayList<>();
+        for (boolean approved : new boolean[]{first, second}) {
+            futures.add(executor.submit(() -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                return bookingService.refineBooking(OWNER_ID, bookingId, approved).getStatus();
+            }));
+        }
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<BookingStatus> future : futures) {
+            try {
+                outcomes.add(future.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                outcomes.add(e.getCause());
+            }
+        }
+        return outcomes;
+    }
+}
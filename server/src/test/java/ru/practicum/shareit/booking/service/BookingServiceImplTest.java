@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -40,9 +42,15 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -101,7 +109,7 @@ class BookingServiceImplTest {
         BookingCreateResponseDto expectedBookingCreateResponseDto = BookingMapper.toBookingCreateResponseDto(BookingMapper.toBooking(user, item, bookingDto));
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(BookingMapper.toBooking(user, item, bookingDto));
 
         BookingCreateResponseDto actualBookingCreateResponseDto = bookingService.addBooking(userDto.getId(), bookingDto);
@@ -109,8 +117,9 @@ class BookingServiceImplTest {
         assertThat(actualBookingCreateResponseDto).isEqualTo(expectedBookingCreateResponseDto);
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
         verify(bookingRepository, times(1)).save(any());
+        verify(itemAvailabilityCache, times(1)).onBookingSaved(any());
     }
 
 
@@ -123,14 +132,14 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(BookingDatesValidatorException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDtoStartIsBeforeNow))
                 .withMessage("дата начала не может находиться в прошлом");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
@@ -142,14 +151,14 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(BookingDatesValidatorException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDtoEndBeforeStart))
                 .withMessage("дата окончания не может быть в прошлом");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
@@ -161,14 +170,14 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(BookingDatesValidatorException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDtoEndBeforeStart))
                 .withMessage("дата окончания не может быть перед датой начала");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
@@ -182,28 +191,28 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(BookingDatesValidatorException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDtoEndBeforeStart))
                 .withMessage("дата окончания должна отличаться от даты начала");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
     void addBooking_whenItemIsNotAvailable_shouldThrowItemIsUnavailableException() {
         item.setAvailable(false);
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(ItemIsUnavailableException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDto))
                 .withMessage("предмет с id " + item.getId() + " не доступен");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
@@ -220,33 +229,49 @@ class BookingServiceImplTest {
     @Test
     void addBooking_whenItemDoesntExist_shouldThrowItemNotFoundException() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThatExceptionOfType(ItemNotFoundException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDto))
                 .withMessage("предмет с id " + item.getId() + " не существует");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
     void addBooking_whenItemOwnerEqualsBooker_shouldThrowUserIsOwnerException() {
         item.setOwner(user);
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThatExceptionOfType(UserIsOwnerException.class)
                 .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDto))
                 .withMessage("Пользователь с id = {" + user.getId() + "} и так является владельцем предместа с id = {" + item.getId() + "}");
 
         verify(userRepository, times(1)).findById(userDto.getId());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void addBooking_whenItemIsAlreadyBooked_shouldThrowBookingOverlapException() {
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlappingBooking(item.getId(),
+                List.of(BookingStatus.APPROVED, BookingStatus.WAITING), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+
+        assertThatExceptionOfType(BookingOverlapException.class)
+                .isThrownBy(() -> bookingService.addBooking(userDto.getId(), bookingDto));
+
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void refineBooking() {
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingWaiting));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findStatusById(bookingWaiting.getId())).thenReturn(Optional.of(BookingStatus.WAITING));
         when(bookingRepository.save(any())).thenReturn(bookingWaiting);
 
         BookingCreateResponseDto actualBookingCreateResponseDto = bookingService.refineBooking(owner.getId(), bookingWaiting.getId(), true);
@@ -254,12 +279,32 @@ class BookingServiceImplTest {
         assertThat(actualBookingCreateResponseDto.getStatus()).isEqualTo(BookingStatus.APPROVED);
 
         verify(bookingRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(item.getId());
+        verify(bookingRepository, times(1)).existsOverlappingBooking(item.getId(), List.of(BookingStatus.APPROVED),
+                bookingWaiting.getStartDate(), bookingWaiting.getEndDate());
         verify(bookingRepository, times(1)).save(any());
     }
 
+    @Test
+    void refineBooking_whenApprovedBookingOverlaps_shouldThrowBookingOverlapException() {
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingWaiting));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findStatusById(bookingWaiting.getId())).thenReturn(Optional.of(BookingStatus.WAITING));
+        when(bookingRepository.existsOverlappingBooking(item.getId(), List.of(BookingStatus.APPROVED),
+                bookingWaiting.getStartDate(), bookingWaiting.getEndDate()))
+                .thenReturn(true);
+
+        assertThatExceptionOfType(BookingOverlapException.class)
+                .isThrownBy(() -> bookingService.refineBooking(owner.getId(), bookingWaiting.getId(), true));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void refineBooking_WhenStatusNotApproved() {
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingWaiting));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findStatusById(bookingWaiting.getId())).thenReturn(Optional.of(BookingStatus.WAITING));
         when(bookingRepository.save(any())).thenReturn(bookingWaiting);
 
         BookingCreateResponseDto actualBookingCreateResponseDto = bookingService.refineBooking(owner.getId(), bookingWaiting.getId(), false);
@@ -267,18 +312,36 @@ class BookingServiceImplTest {
         assertThat(actualBookingCreateResponseDto.getStatus()).isEqualTo(BookingStatus.REJECTED);
 
         verify(bookingRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findByIdForUpdate(item.getId());
+        verify(bookingRepository, never()).existsOverlappingBooking(any(), any(), any(), any());
         verify(bookingRepository, times(1)).save(any());
     }
 
     @Test
     void refineBooking_ShouldThrowBookingAlreadyRefinedException() {
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findStatusById(booking.getId())).thenReturn(Optional.of(booking.getStatus()));
 
         assertThatExceptionOfType(BookingAlreadyRefinedException.class)
                 .isThrownBy(() -> bookingService.refineBooking(owner.getId(), booking.getId(), false))
                 .withMessage("Бронирование уже имеет статус " + booking.getStatus());
 
         verify(bookingRepository, times(1)).findById(anyLong());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void refineBooking_whenStatusChangedBeforeLock_shouldThrowBookingAlreadyRefinedException() {
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingWaiting));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findStatusById(bookingWaiting.getId())).thenReturn(Optional.of(BookingStatus.REJECTED));
+
+        assertThatExceptionOfType(BookingAlreadyRefinedException.class)
+                .isThrownBy(() -> bookingService.refineBooking(owner.getId(), bookingWaiting.getId(), true))
+                .withMessage("Бронирование уже имеет статус " + BookingStatus.REJECTED);
+
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -332,14 +395,14 @@ class BookingServiceImplTest {
     @Test
     void findAllBookingsForBooker_WhenBookingStateAll() {
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
         when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "ALL", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceCache, times(1)).exists(user.getId());
         verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
     }
 
@@ -348,15 +411,15 @@ class BookingServiceImplTest {
         booking.setStartDate(LocalDateTime.now().minusHours(1));
         booking.setEndDate(LocalDateTime.now().plusHours(1));
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findCurrentBookingsForBooker(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "CURRENT", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findCurrentBookingsForBooker(anyLong(), any(), any());
     }
 
     @Test
@@ -364,15 +427,15 @@ class BookingServiceImplTest {
         booking.setStartDate(LocalDateTime.now().plusHours(1));
         booking.setEndDate(LocalDateTime.now().plusHours(2));
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findFutureBookingsForBooker(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "FUTURE", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findFutureBookingsForBooker(anyLong(), any(), any());
     }
 
     @Test
@@ -380,45 +443,45 @@ class BookingServiceImplTest {
         booking.setStartDate(LocalDateTime.now().minusHours(3));
         booking.setEndDate(LocalDateTime.now().minusHours(2));
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findPastBookingsForBooker(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "PAST", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findPastBookingsForBooker(anyLong(), any(), any());
     }
 
     @Test
     void findAllBookingsForBooker_WhenBookingStateWAITING() {
         booking.setStatus(BookingStatus.WAITING);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookingsForBookerWithStatus(anyLong(), eq(BookingStatus.WAITING), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "WAITING", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findBookingsForBookerWithStatus(anyLong(), eq(BookingStatus.WAITING), any());
     }
 
     @Test
     void findAllBookingsForBooker_WhenBookingStateREJECTED() {
         booking.setStatus(BookingStatus.REJECTED);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsForBookerByStatus(anyLong(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookingsForBookerWithStatus(anyLong(), eq(BookingStatus.REJECTED), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForBooker(user.getId(), "REJECTED", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findAllBookingsForBookerByStatus(anyLong(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findBookingsForBookerWithStatus(anyLong(), eq(BookingStatus.REJECTED), any());
     }
 
     @Test
@@ -432,15 +495,15 @@ class BookingServiceImplTest {
     void findAllBookingsForItemsOwner_WhenBookingStateAll() {
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsForOwner(anyLong(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "ALL", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findAllBookingsForOwner(anyLong(), any());
     }
 
     @Test
@@ -449,15 +512,15 @@ class BookingServiceImplTest {
         booking.setEndDate(LocalDateTime.now().plusHours(1));
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findCurrentBookingsForOwner(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "CURRENT", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findCurrentBookingsForOwner(anyLong(), any(), any());
     }
 
     @Test
@@ -466,15 +529,15 @@ class BookingServiceImplTest {
         booking.setEndDate(LocalDateTime.now().plusHours(2));
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findFutureBookingsForOwner(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "FUTURE", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findFutureBookingsForOwner(anyLong(), any(), any());
     }
 
     @Test
@@ -483,15 +546,15 @@ class BookingServiceImplTest {
         booking.setEndDate(LocalDateTime.now().minusHours(2));
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findPastBookingsForOwner(anyLong(), any(), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "PAST", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findPastBookingsForOwner(anyLong(), any(), any());
     }
 
     @Test
@@ -499,15 +562,15 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.WAITING);
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookingsForOwnerWithStatus(anyLong(), eq(BookingStatus.WAITING), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "WAITING", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findBookingsForOwnerWithStatus(anyLong(), eq(BookingStatus.WAITING), any());
     }
 
     @Test
@@ -515,15 +578,15 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.REJECTED);
         user.setId(2L);
         List<BookingCreateResponseDto> expectedBookingsDtoOut = List.of(BookingMapper.toBookingCreateResponseDto(booking));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemIdIn(any(), any())).thenReturn(List.of(booking));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookingsForOwnerWithStatus(anyLong(), eq(BookingStatus.REJECTED), any())).thenReturn(List.of(booking));
 
         Collection<BookingCreateResponseDto> actualBookingsDtoOut = bookingService.findAllBookingsForItemsOwner(user.getId(), "REJECTED", 0, 10);
 
         assertThat(actualBookingsDtoOut).usingRecursiveAssertion().isEqualTo(expectedBookingsDtoOut);
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(bookingRepository, times(1)).findByItemIdIn(any(), any());
+        verify(userExistenceCache, times(1)).exists(user.getId());
+        verify(bookingRepository, times(1)).findBookingsForOwnerWithStatus(anyLong(), eq(BookingStatus.REJECTED), any());
     }
 
     @Test
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogPayloadTest {
+
+    private LogPayload.Settings previous;
+
+    @BeforeEach
+    void setUp() {
+        previous = LogPayload.configure(1000, 10, 1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LogPayload.restore(previous);
+    }
+
+    @Test
+    void of_shouldNotRenderPayloadUntilFormatted() {
+        AtomicInteger renders = new AtomicInteger();
+        Object payload = new Object() {
+            @Override
+            public String toString() {
+                renders.incrementAndGet();
+                return "payload";
+            }
+        };
+
+        Object wrapped = LogPayload.of(payload);
+
+        assertThat(renders).hasValue(0);
+        assertThat(wrapped).hasToString("payload");
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void of_whenCollectionIsLarge_shouldRenderSizeAndFirstElements() {
+        LogPayload.configure(1000, 3, 1.0);
+
+        assertThat(LogPayload.of(List.of(1, 2, 3, 4, 5))).hasToString("size=5 [1, 2, 3, ...]");
+    }
+
+    @Test
+    void of_whenTextIsLong_shouldCapLength() {
+        LogPayload.configure(5, 10, 1.0);
+
+        assertThat(LogPayload.of("abcdefghij")).hasToString("abcde... (10 символов)");
+    }
+
+    @Test
+    void of_whenSampleRateIsZero_shouldStillRenderPayload() {
+        LogPayload.configure(1000, 10, 0.0);
+
+        assertThat(LogPayload.of("payload")).hasToString("payload");
+    }
+
+    @Test
+    void sampled_whenSampleRateIsZero_shouldSkipPayload() {
+        LogPayload.configure(1000, 10, 0.0);
+
+        assertThat(LogPayload.sampled(List.of("payload")).toString()).doesNotContain("payload");
+    }
+
+    @Test
+    void sampled_shouldRenderTheSameTextOnEveryFormatting() {
+        LogPayload.configure(1000, 10, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            Object payload = LogPayload.sampled("payload");
+            assertThat(payload).hasToString(payload.toString());
+        }
+    }
+
+    @Test
+    void settingsBeanRestoresPreviousSettingsOnDestroy() {
+        LogPayloadSettings bean = new LogPayloadSettings(5, 10, 1.0);
+        assertThat(LogPayload.of("1234567890").toString()).startsWith("12345...");
+
+        bean.destroy();
+
+        assertThat(LogPayload.of("1234567890").toString()).isEqualTo("1234567890");
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+    @Mock
+    private UserService userService;
+
+    private MeterRegistry meterRegistry;
+
+    private UserService instrumented;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(userService);
+        proxyFactory.addInterface(UserService.class);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        instrumented = proxyFactory.getProxy();
+    }
+
+    @Test
+    void measure_whenMethodReturnsCollection_shouldRecordTimeAndResultSize() {
+        when(userService.getAllUsers()).thenReturn(List.of(UserDto.builder().build(), UserDto.builder().build()));
+
+        instrumented.getAllUsers();
+        instrumented.getAllUsers();
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC_NAME)
+                .tag("service", "UserService")
+                .tag("method", "getAllUsers")
+                .tag("exception", "none")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.RESULT_SIZE_METRIC_NAME)
+                .tag("method", "getAllUsers")
+                .summary().totalAmount()).isEqualTo(4.0);
+    }
+
+    @Test
+    void measure_whenMethodThrows_shouldTagTimerWithExceptionAndRethrow() {
+        when(userService.getUserById(1L)).thenThrow(new UserNotFoundException("нет пользователя"));
+
+        assertThatThrownBy(() -> instrumented.getUserById(1L))
+                .isInstanceOf(UserNotFoundException.class);
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC_NAME)
+                .tag("method", "getUserById")
+                .tag("exception", "UserNotFoundException")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ServiceMetricsAspect.RESULT_SIZE_METRIC_NAME)
+                .tag("method", "getUserById")
+                .summary()).isNull();
+    }
+
+    @Test
+    void measure_whenMethodThrowsRepeatedly_shouldReuseExceptionTimer() {
+        when(userService.getUserById(1L)).thenThrow(new UserNotFoundException("нет пользователя"));
+
+        assertThatThrownBy(() -> instrumented.getUserById(1L)).isInstanceOf(UserNotFoundException.class);
+        Timer first = meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC_NAME)
+                .tag("method", "getUserById")
+                .tag("exception", "UserNotFoundException")
+                .timer();
+        meterRegistry.clear();
+        assertThatThrownBy(() -> instrumented.getUserById(1L)).isInstanceOf(UserNotFoundException.class);
+
+        // закэшированный таймер не регистрируется повторно и продолжает считать вызовы
+        assertThat(meterRegistry.find(ServiceMetricsAspect.CALLS_METRIC_NAME).timers()).isEmpty();
+        assertThat(first.count()).isEqualTo(2);
+    }
+}
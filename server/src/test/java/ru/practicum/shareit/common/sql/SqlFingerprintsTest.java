@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintsTest {
+
+    @Test
+    void of_shouldReplaceLiteralsAndCollapseInLists() {
+        String fingerprint = SqlFingerprints.of("select *\n  from items i where i.owner_id = 42 " +
+                "and i.name = 'it''s' and i.id in (?, ?, ?)");
+
+        assertThat(fingerprint).isEqualTo("select * from items i where i.owner_id = ? and i.name = ? and i.id in (?)");
+    }
+
+    @Test
+    void of_shouldKeepIdentifiersWithDigits() {
+        assertThat(SqlFingerprints.of("select item0_.id as id1_2_ from items item0_ limit 10"))
+                .isEqualTo("select item0_.id as id1_2_ from items item0_ limit ?");
+    }
+}
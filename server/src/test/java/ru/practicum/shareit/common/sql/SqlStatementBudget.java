@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка MockMvc: запрос выполнил не больше заданного числа SQL-выражений.
+ * Число берется из заголовка {@link SqlStatisticsHeaderAdvice#STATEMENTS_HEADER}.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatisticsHeaderAdvice.STATEMENTS_HEADER);
+            assertThat(header)
+                    .as("заголовок %s", SqlStatisticsHeaderAdvice.STATEMENTS_HEADER)
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL-выражений в запросе %s", result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(statements);
+        };
+    }
+}
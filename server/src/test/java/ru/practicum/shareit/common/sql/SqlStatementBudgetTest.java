@@ -0,0 +1,106 @@
+package ru.practicum.shareit.common.sql;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бюджеты SQL-выражений для списочных эндпоинтов: число выражений не должно
+ * расти с размером страницы, иначе где-то появился N+1.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sql-statement-budget")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    @SneakyThrows
+    void seed() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (name, email) " +
+                    "SELECT 'user' || X, 'user' || X || '@email.com' FROM SYSTEM_RANGE(1, 20)");
+            statement.executeUpdate("INSERT INTO requests (description, requester_id, created) " +
+                    "SELECT 'request' || X, 1, DATEADD('MINUTE', X, TIMESTAMP '2020-01-01 00:00:00') " +
+                    "FROM SYSTEM_RANGE(1, 20)");
+            statement.executeUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                    "SELECT 'item' || X, 'description' || X, TRUE, 2, NULL FROM SYSTEM_RANGE(1, 20)");
+            statement.executeUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                    "SELECT 'item' || X, 'description' || X, TRUE, 3, X - 20 FROM SYSTEM_RANGE(21, 40)");
+            statement.executeUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, booking_status) " +
+                    "SELECT DATEADD('DAY', X - 40, CURRENT_TIMESTAMP), DATEADD('DAY', X - 39, CURRENT_TIMESTAMP), " +
+                    "MOD(X, 20) + 1, MOD(X, 18) + 3, 'APPROVED' FROM SYSTEM_RANGE(1, 80)");
+            statement.executeUpdate("INSERT INTO comments (text, item_id, author_id, created) " +
+                    "SELECT 'text' || X, MOD(X, 20) + 1, MOD(X, 18) + 3, TIMESTAMP '2020-01-01 00:00:00' " +
+                    "FROM SYSTEM_RANGE(1, 60)");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUserItems_shouldStayWithinBudget() {
+        mockMvc.perform(get("/items?from=0&size=20").header(USER_ID_HEADER, 2))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(6));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUserItems_shouldNotDependOnPageSize() {
+        // первый запрос пользователя еще и проверяет его существование в БД
+        statements(get("/items?from=0&size=1").header(USER_ID_HEADER, 2));
+
+        int small = statements(get("/items?from=0&size=5").header(USER_ID_HEADER, 2));
+        int large = statements(get("/items?from=0&size=20").header(USER_ID_HEADER, 2));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @SneakyThrows
+    void getUserItemRequests_shouldStayWithinBudget() {
+        mockMvc.perform(get("/requests").header(USER_ID_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(3));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsForOwner_shouldStayWithinBudget() {
+        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=20").header(USER_ID_HEADER, 2))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(2));
+    }
+
+    @SneakyThrows
+    private int statements(MockHttpServletRequestBuilder request) {
+        String header = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatisticsHeaderAdvice.STATEMENTS_HEADER);
+        return Integer.parseInt(header);
+    }
+}
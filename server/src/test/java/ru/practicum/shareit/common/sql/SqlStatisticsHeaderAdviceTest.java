@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common.sql;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatisticsHeaderAdviceTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SqlStatisticsHeaderAdvice.class);
+
+    @Test
+    void advice_byDefault_shouldBeRegistered() {
+        contextRunner.run(context -> assertThat(context).hasSingleBean(SqlStatisticsHeaderAdvice.class));
+    }
+
+    @Test
+    void advice_whenHeadersDisabled_shouldNotBeRegistered() {
+        contextRunner.withPropertyValues("shareit.sql-statistics.headers.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(SqlStatisticsHeaderAdvice.class));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final IntervalTree tree = new IntervalTree();
+
+    @Test
+    void findOverlapping_shouldTreatIntervalsAsHalfOpen() {
+        tree.put(interval(1L, 0, 2));
+        tree.put(interval(2L, 2, 4));
+        tree.put(interval(3L, 6, 8));
+
+        assertThat(tree.findOverlapping(at(2), at(3)))
+                .extracting(BookedInterval::getBookingId)
+                .containsExactly(2L);
+        assertThat(tree.findOverlapping(at(4), at(6))).isEmpty();
+        assertThat(tree.findOverlapping(at(1), at(7)))
+                .extracting(BookedInterval::getBookingId)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void findOverlapping_shouldFindLongIntervalStartedBeforeRange() {
+        tree.put(interval(1L, 0, 100));
+        for (long id = 2; id < 20; id++) {
+            tree.put(interval(id, (int) id, (int) id + 1));
+        }
+
+        assertThat(tree.findOverlapping(at(50), at(51)))
+                .extracting(BookedInterval::getBookingId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void put_whenBookingIdAlreadyExists_shouldReplaceInterval() {
+        tree.put(interval(1L, 0, 2));
+        tree.put(interval(1L, 5, 6));
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.findOverlapping(at(0), at(2))).isEmpty();
+        assertThat(tree.findOverlapping(at(5), at(6))).hasSize(1);
+    }
+
+    @Test
+    void remove_shouldDropInterval() {
+        tree.put(interval(1L, 0, 2));
+        tree.put(interval(2L, 1, 3));
+
+        tree.remove(1L);
+        tree.remove(42L);
+
+        assertThat(tree.findOverlapping(at(0), at(3)))
+                .extracting(BookedInterval::getBookingId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void findOverlapping_shouldMatchBruteForceAndStayBalanced() {
+        Random random = new Random(42);
+        List<BookedInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            int start = random.nextInt(10_000);
+            BookedInterval interval = interval(id, start, start + 1 + random.nextInt(50));
+            intervals.add(interval);
+            tree.put(interval);
+        }
+        for (int i = 0; i < 500; i++) {
+            BookedInterval removed = intervals.remove(random.nextInt(intervals.size()));
+            tree.remove(removed.getBookingId());
+        }
+
+        assertThat(tree.height()).isLessThanOrEqualTo(2 * 11);
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(10_000);
+            int to = from + 1 + random.nextInt(200);
+
+            List<BookedInterval> expected = intervals.stream()
+                    .filter(interval -> interval.getStart().isBefore(at(to)) && interval.getEnd().isAfter(at(from)))
+                    .sorted(Comparator.comparing(BookedInterval::getStart)
+                            .thenComparing(BookedInterval::getBookingId))
+                    .collect(Collectors.toList());
+
+            assertThat(tree.findOverlapping(at(from), at(to))).isEqualTo(expected);
+        }
+    }
+
+    private static BookedInterval interval(long bookingId, int startHour, int endHour) {
+        return new BookedInterval(bookingId, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityCache itemAvailabilityCache;
+
+    private final Item item = Item.builder()
+            .id(1L)
+            .name("name")
+            .description("description")
+            .available(true)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        itemAvailabilityCache = new ItemAvailabilityCache(bookingRepository, 2);
+    }
+
+    @Test
+    void findBusyIntervals_shouldLoadItemCalendarOnce() {
+        BookedInterval booked = new BookedInterval(10L, START, START.plusDays(1));
+        when(bookingRepository.findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES))
+                .thenReturn(List.of(booked));
+
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isFalse();
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(2)))
+                .containsExactly(booked);
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START.plusDays(1), START.plusDays(2)))
+                .isEmpty();
+
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isTrue();
+        verify(bookingRepository, times(1)).findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES);
+    }
+
+    @Test
+    void onBookingSaved_shouldUpdateLoadedCalendar() {
+        when(bookingRepository.findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES))
+                .thenReturn(List.of());
+        itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1));
+
+        Booking booking = booking(BookingStatus.WAITING);
+        itemAvailabilityCache.onBookingSaved(booking);
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1)))
+                .containsExactly(new BookedInterval(booking.getId(), booking.getStartDate(), booking.getEndDate()));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        itemAvailabilityCache.onBookingSaved(booking);
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1)))
+                .isEmpty();
+    }
+
+    @Test
+    void onBookingSaved_whenCalendarIsNotLoaded_shouldNotLoadIt() {
+        itemAvailabilityCache.onBookingSaved(booking(BookingStatus.WAITING));
+
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isFalse();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findBusyIntervals_whenMaxSizeExceeded_shouldEvictLeastRecentlyUsed() {
+        when(bookingRepository.findBookedIntervals(anyLong(), eq(ItemAvailabilityCache.BUSY_STATUSES)))
+                .thenReturn(List.of());
+
+        itemAvailabilityCache.findBusyIntervals(1L, START, START.plusDays(1));
+        itemAvailabilityCache.findBusyIntervals(2L, START, START.plusDays(1));
+        itemAvailabilityCache.findBusyIntervals(1L, START, START.plusDays(1));
+        itemAvailabilityCache.findBusyIntervals(3L, START, START.plusDays(1));
+
+        assertThat(itemAvailabilityCache.size()).isEqualTo(2);
+        assertThat(itemAvailabilityCache.isLoaded(1L)).isTrue();
+        assertThat(itemAvailabilityCache.isLoaded(2L)).isFalse();
+        assertThat(itemAvailabilityCache.isLoaded(3L)).isTrue();
+    }
+
+    @Test
+    void findBusyIntervals_whenBookingSavedDuringLoad_shouldNotCacheStaleCalendar() {
+        Booking booking = booking(BookingStatus.WAITING);
+        when(bookingRepository.findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES))
+                .thenAnswer(invocation -> {
+                    itemAvailabilityCache.onBookingSaved(booking);
+                    return List.of();
+                })
+                .thenReturn(List.of(new BookedInterval(booking.getId(), booking.getStartDate(), booking.getEndDate())));
+
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1))).isEmpty();
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isFalse();
+
+        assertThat(itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1))).hasSize(1);
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isTrue();
+    }
+
+    @Test
+    void findBusyIntervals_whenOtherItemBookingSavedDuringLoad_shouldCacheCalendar() {
+        Item otherItem = Item.builder()
+                .id(2L)
+                .name("other")
+                .description("description")
+                .available(true)
+                .build();
+        Booking otherBooking = booking(BookingStatus.WAITING);
+        otherBooking.setItem(otherItem);
+        when(bookingRepository.findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES))
+                .thenAnswer(invocation -> {
+                    itemAvailabilityCache.onBookingSaved(otherBooking);
+                    return List.of();
+                });
+
+        itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1));
+
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isTrue();
+        assertThat(itemAvailabilityCache.isLoaded(otherItem.getId())).isFalse();
+    }
+
+    @Test
+    void findBusyIntervals_whenLoadFails_shouldAllowNextLoad() {
+        when(bookingRepository.findBookedIntervals(item.getId(), ItemAvailabilityCache.BUSY_STATUSES))
+                .thenThrow(new IllegalStateException("database is down"))
+                .thenReturn(List.of());
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1)));
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isFalse();
+
+        itemAvailabilityCache.findBusyIntervals(item.getId(), START, START.plusDays(1));
+        assertThat(itemAvailabilityCache.isLoaded(item.getId())).isTrue();
+    }
+
+    private Booking booking(BookingStatus status) {
+        return Booking.builder()
+                .id(10L)
+                .item(item)
+                .startDate(START.plusHours(1))
+                .endDate(START.plusHours(2))
+                .status(status)
+                .build();
+    }
+}
@@ -9,12 +9,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.BookingMetaData;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.exception.InvalidAvailabilityRangeException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.UserIsNotBookerException;
 import ru.practicum.shareit.item.exception.UserIsNotOwnerException;
@@ -202,7 +205,7 @@ class ItemControllerTest {
         Long itemId = item.getId();
 
         ItemDtoWithBooking itemDtoWithBooking = ItemMapper.toItemDtoWithBooking(
-                item, List.of(comment1, comment2), booking1, booking2
+                item, List.of(comment1, comment2), toBookingMetaData(booking1), toBookingMetaData(booking2)
         );
 
         when(itemService.getItemById(userId, itemId)).thenReturn(itemDtoWithBooking);
@@ -225,10 +228,10 @@ class ItemControllerTest {
         Long userId = item.getOwner().getId();
 
         ItemDtoWithBooking itemDtoWithBooking = ItemMapper.toItemDtoWithBooking(
-                item, List.of(comment1, comment2), booking1, booking2
+                item, List.of(comment1, comment2), toBookingMetaData(booking1), toBookingMetaData(booking2)
         );
 
-        when(itemService.getAllUserItems(userId)).thenReturn(List.of(itemDtoWithBooking));
+        when(itemService.getAllUserItems(userId, null, 0, 10)).thenReturn(List.of(itemDtoWithBooking));
 
         String response = mockMvc.perform(get("/items")
                         .header(USER_ID_HEADER, userId))
@@ -239,7 +242,23 @@ class ItemControllerTest {
 
         assertThat(response)
                 .isEqualTo(objectMapper.writeValueAsString(List.of(itemDtoWithBooking)));
-        verify(itemService, times(1)).getAllUserItems(userId);
+        verify(itemService, times(1)).getAllUserItems(userId, null, 0, 10);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUserItems_withAfterId() {
+        Long userId = item.getOwner().getId();
+
+        when(itemService.getAllUserItems(userId, 5L, 0, 2)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, userId)
+                        .param("afterId", "5")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+
+        verify(itemService, times(1)).getAllUserItems(userId, 5L, 0, 2);
     }
 
     @Test
@@ -248,7 +267,7 @@ class ItemControllerTest {
         Long userId = item.getOwner().getId();
         String keyWord = "keyw";
 
-        when(itemService.getAvailableItemsByKeyWord(userId, keyWord))
+        when(itemService.getAvailableItemsByKeyWord(userId, keyWord, 0, 10))
                 .thenReturn(List.of(itemDto));
 
         String response = mockMvc.perform(get("/items/search")
@@ -262,7 +281,7 @@ class ItemControllerTest {
         assertThat(response)
                 .isEqualTo(objectMapper.writeValueAsString(List.of(itemDto)));
         verify(itemService, times(1))
-                .getAvailableItemsByKeyWord(userId, keyWord);
+                .getAvailableItemsByKeyWord(userId, keyWord, 0, 10);
     }
 
     @Test
@@ -309,4 +328,57 @@ class ItemControllerTest {
 
         verify(itemService, times(1)).addComment(userId, itemId, dto);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability() {
+        Long userId = item.getOwner().getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto expected = ItemMapper.toItemAvailabilityDto(item.getId(), from, to, List.of());
+
+        when(itemService.getItemAvailability(userId, item.getId(), from, to)).thenReturn(expected);
+
+        String response = mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .header(USER_ID_HEADER, userId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenRangeIsInvalid_returnsBadRequest() {
+        Long userId = item.getOwner().getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(itemService.getItemAvailability(userId, item.getId(), from, from))
+                .thenThrow(new InvalidAvailabilityRangeException("invalid range"));
+
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .header(USER_ID_HEADER, userId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenUserIdHeaderIsMissing_returnsBadRequest() {
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemService);
+    }
+
+    private BookingMetaData toBookingMetaData(Booking booking) {
+        return new BookingMetaData(booking.getId(), booking.getBooker().getId());
+    }
+}
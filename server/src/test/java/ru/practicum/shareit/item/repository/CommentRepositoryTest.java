@@ -1,12 +1,112 @@
 package ru.practicum.shareit.item.repository;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
-import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class CommentRepositoryTest {
 
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private final User owner = User.builder()
+            .name("owner")
+            .email("owner@email.com")
+            .build();
+
+    private final User author = User.builder()
+            .name("author")
+            .email("author@email.com")
+            .build();
+
+    private final Item item1 = Item.builder()
+            .name("item1")
+            .description("description1")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item item2 = Item.builder()
+            .name("item2")
+            .description("description2")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item item3 = Item.builder()
+            .name("item3")
+            .description("description3")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Comment comment1 = Comment.builder()
+            .text("text1")
+            .item(item1)
+            .author(author)
+            .created(LocalDateTime.now())
+            .build();
+
+    private final Comment comment2 = Comment.builder()
+            .text("text2")
+            .item(item2)
+            .author(author)
+            .created(LocalDateTime.now())
+            .build();
+
+    private final Comment comment3 = Comment.builder()
+            .text("text3")
+            .item(item3)
+            .author(author)
+            .created(LocalDateTime.now())
+            .build();
+
+    @BeforeEach
+    public void init() {
+        testEntityManager.persist(owner);
+        testEntityManager.persist(author);
+        testEntityManager.persist(item1);
+        testEntityManager.persist(item2);
+        testEntityManager.persist(item3);
+        testEntityManager.persist(comment1);
+        testEntityManager.persist(comment2);
+        testEntityManager.persist(comment3);
+        testEntityManager.flush();
+    }
+
     @Test
     void findAllByItemId() {
+        List<Comment> comments = commentRepository.findAllByItemId(item1.getId());
+
+        assertThat(comments)
+                .hasSize(1)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(comment1));
+    }
+
+    @Test
+    void findAllByItemIdIn() {
+        List<Comment> comments = commentRepository.findAllByItemIdIn(List.of(item1.getId(), item3.getId()));
+
+        assertThat(comments)
+                .hasSize(2)
+                .usingRecursiveAssertion()
+                .isEqualTo(List.of(comment1, comment3));
     }
-}
\ No newline at end of file
+}
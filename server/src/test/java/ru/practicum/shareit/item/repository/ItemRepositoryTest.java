@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ItemRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private final User owner = User.builder()
+            .name("owner")
+            .email("owner@email.com")
+            .build();
+
+    private final Item drill = Item.builder()
+            .name("Дрель")
+            .description("Простая")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item screwdriver = Item.builder()
+            .name("Отвертка")
+            .description("Аккумуляторная дрель")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item brokenDrill = Item.builder()
+            .name("Дрель")
+            .description("Сломанная")
+            .available(false)
+            .owner(owner)
+            .build();
+
+    @BeforeEach
+    public void init() {
+        testEntityManager.persist(owner);
+        testEntityManager.persist(drill);
+        testEntityManager.persist(screwdriver);
+        testEntityManager.persist(brokenDrill);
+        testEntityManager.flush();
+    }
+
+    @Test
+    void findAllByOwnerIdOrderByIdAsc() {
+        List<Item> items = itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId(), PageRequest.of(1, 2));
+
+        assertThat(items).containsExactly(brokenDrill);
+    }
+
+    @Test
+    void findAllByOwnerIdAndIdGreaterThanOrderByIdAsc() {
+        List<Item> items = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                owner.getId(), drill.getId(), PageRequest.of(0, 1));
+
+        assertThat(items).containsExactly(screwdriver);
+    }
+
+    @Test
+    void searchAvailable_shouldMatchNameAndDescription() {
+        List<Item> items = itemRepository.searchAvailable("дРЕль", PageRequest.of(0, 10));
+
+        assertThat(items).containsExactly(drill, screwdriver);
+    }
+
+    @Test
+    void searchAvailable_shouldPaginate() {
+        List<Item> items = itemRepository.searchAvailable("дрель", PageRequest.of(1, 1));
+
+        assertThat(items).containsExactly(screwdriver);
+    }
+}
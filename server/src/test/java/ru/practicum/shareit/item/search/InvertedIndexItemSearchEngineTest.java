@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InvertedIndexItemSearchEngine searchEngine;
+
+    private final User owner = User.builder()
+            .id(1L)
+            .name("owner")
+            .email("owner@email.com")
+            .build();
+
+    private final Item drill = Item.builder()
+            .id(1L)
+            .name("Дрель")
+            .description("Простая дрель")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item screwdriver = Item.builder()
+            .id(2L)
+            .name("Отвертка")
+            .description("Аккумуляторная отвертка, подходит как дрель")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    private final Item brokenDrill = Item.builder()
+            .id(3L)
+            .name("Дрель")
+            .description("Сломанная дрель")
+            .available(false)
+            .owner(owner)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirstAndSkipUnavailableItems() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+
+        List<Item> found = searchEngine.search("дРелЬ", 0, 10);
+
+        assertThat(found).containsExactly(drill, screwdriver);
+    }
+
+    @Test
+    void search_shouldMatchWordPrefix() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+
+        List<Item> found = searchEngine.search("аккум", 0, 10);
+
+        assertThat(found).containsExactly(screwdriver);
+    }
+
+    @Test
+    void search_shouldMatchSubstringInsideWord() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+
+        assertThat(searchEngine.search("ртка", 0, 10)).containsExactly(screwdriver);
+        assertThat(searchEngine.search("РЕЛ", 0, 10)).containsExactly(drill, screwdriver);
+    }
+
+    @Test
+    void search_shouldMatchQueryWordsIndependentlyRatherThanAsPhrase() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+
+        List<Item> found = searchEngine.search("простая отвертка", 0, 10);
+
+        assertThat(found).containsExactly(screwdriver, drill);
+    }
+
+    @Test
+    void search_shouldPaginateRankedResults() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+
+        List<Item> found = searchEngine.search("дрель", 1, 1);
+
+        assertThat(found).containsExactly(screwdriver);
+    }
+
+    @Test
+    void search_whenIndexIsBehindDatabase_shouldFilterUnavailableItemsBeforePaging() {
+        Item hammerDrill = Item.builder()
+                .id(4L)
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .build();
+        mockItems(List.of(drill, screwdriver, brokenDrill, hammerDrill));
+        searchEngine.search("дрель", 0, 10);
+
+        // изменение прошло мимо индекса: в базе вещь уже недоступна, а индекс о ней не знает
+        drill.setAvailable(false);
+
+        assertThat(searchEngine.search("дрель", 0, 1)).containsExactly(hammerDrill);
+        assertThat(searchEngine.search("дрель", 1, 1)).containsExactly(screwdriver);
+        assertThat(searchEngine.search("дрель", 0, 2)).containsExactly(hammerDrill, screwdriver);
+    }
+
+    @Test
+    void search_whenItemBecameUnavailable_shouldNotFindIt() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+        searchEngine.search("дрель", 0, 10);
+
+        drill.setAvailable(false);
+        searchEngine.onItemSaved(drill);
+
+        List<Item> found = searchEngine.search("дрель", 0, 10);
+
+        assertThat(found).containsExactly(screwdriver);
+        verify(itemRepository, times(1)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void onItemSaved_whenTransactionRollsBack_shouldNotChangeIndex() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+        searchEngine.search("дрель", 0, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        drill.setAvailable(false);
+        searchEngine.onItemSaved(drill);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        drill.setAvailable(true);
+
+        assertThat(searchEngine.search("дрель", 0, 10)).containsExactly(drill, screwdriver);
+    }
+
+    @Test
+    void onItemSaved_shouldIndexItemAfterCommit() {
+        mockItems(List.of(drill, screwdriver, brokenDrill));
+        searchEngine.search("дрель", 0, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        screwdriver.setName("Шуруповерт");
+        searchEngine.onItemSaved(screwdriver);
+        assertThat(searchEngine.search("шуруповерт", 0, 10)).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(searchEngine.search("шуруповерт", 0, 10)).containsExactly(screwdriver);
+    }
+
+    @Test
+    void search_whenTextHasNoWords_shouldReturnEmptyList() {
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        assertThat(searchEngine.search(" ,. ", 0, 10)).isEmpty();
+        verify(itemRepository, never()).findAllById(anyList());
+    }
+
+    private void mockItems(List<Item> items) {
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(items));
+        when(itemRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return items.stream()
+                    .filter(item -> ids.contains(item.getId()))
+                    .collect(Collectors.toList());
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SqlItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private SqlItemSearchEngine searchEngine;
+
+    @Test
+    void search_whenFromIsNotMultipleOfSize_shouldStartAtFrom() {
+        searchEngine.search("дрель", 3, 2);
+
+        verify(itemRepository, times(1)).searchAvailable("дрель", OffsetPageRequest.of(3, 2));
+    }
+}
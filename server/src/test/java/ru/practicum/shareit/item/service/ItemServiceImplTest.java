@@ -5,15 +5,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.availability.BookedInterval;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
+import ru.practicum.shareit.item.dto.BookingMetaData;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.dto.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.exception.InvalidAvailabilityRangeException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.UserIsNotBookerException;
 import ru.practicum.shareit.item.exception.UserIsNotOwnerException;
@@ -21,11 +30,13 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -46,6 +57,9 @@ class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private BookingRepository bookingRepository;
 
@@ -55,6 +69,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -140,6 +160,7 @@ class ItemServiceImplTest {
 
         verify(userRepository, times(1)).findById(item.getOwner().getId());
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchEngine, times(1)).onItemSaved(item);
     }
 
     @Test
@@ -188,6 +209,7 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(item.getId());
         verify(userRepository, times(1)).findById(item.getOwner().getId());
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchEngine, times(1)).onItemSaved(item);
     }
 
     @Test
@@ -226,23 +248,26 @@ class ItemServiceImplTest {
         Long ownerId = item.getOwner().getId();
         List<Comment> comments = List.of(comment1, comment2);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
-        when(bookingRepository.findAllByItemAndStatusOrderByStartDateAsc(item, BookingStatus.APPROVED))
-                .thenReturn(List.of(booking1, booking2));
+        when(bookingRepository.findLastBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(toBookingShortDto(booking1)));
+        when(bookingRepository.findNextBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(toBookingShortDto(booking2)));
 
         ItemDtoWithBooking response = itemService.getItemById(ownerId, itemId);
         assertThat(response).isNotNull();
 
         ItemDtoWithBooking expected = ItemMapper.toItemDtoWithBooking(
-                item, comments, booking1, booking2);
+                item, comments, toBookingMetaData(booking1), toBookingMetaData(booking2));
         assertThat(response).isEqualTo(expected);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceCache, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(commentRepository, times(1)).findAllByItemId(itemId);
-        verify(bookingRepository, times(1)).findAllByItemAndStatusOrderByStartDateAsc(item, BookingStatus.APPROVED);
+        verify(bookingRepository, times(1)).findLastBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository, times(1)).findNextBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
     }
 
     @Test
@@ -251,7 +276,7 @@ class ItemServiceImplTest {
         Long ownerId = user.getId();
         List<Comment> comments = List.of(comment1, comment2);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
 
@@ -262,7 +287,7 @@ class ItemServiceImplTest {
                 item, comments);
         assertThat(response).isEqualTo(expected);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceCache, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(commentRepository, times(1)).findAllByItemId(itemId);
     }
@@ -273,23 +298,71 @@ class ItemServiceImplTest {
         Long ownerId = item.getOwner().getId();
         List<Comment> comments = List.of(comment1, comment2);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(itemRepository.findAllByOwnerId(ownerId)).thenReturn(List.of(item));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
-        when(bookingRepository.findAllByItemAndStatusOrderByStartDateAsc(item, BookingStatus.APPROVED))
-                .thenReturn(List.of(booking1, booking2));
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, OffsetPageRequest.of(0, 10))).thenReturn(List.of(item));
+        when(commentRepository.findAllByItemIdIn(List.of(itemId))).thenReturn(comments);
+        when(bookingRepository.findLastBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(toBookingShortDto(booking1)));
+        when(bookingRepository.findNextBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(toBookingShortDto(booking2)));
 
-        Collection<ItemDtoWithBooking> response = itemService.getAllUserItems(ownerId);
+        Collection<ItemDtoWithBooking> response = itemService.getAllUserItems(ownerId, null, 0, 10);
         assertThat(response).isNotNull();
 
         Collection<ItemDtoWithBooking> expected = List.of(ItemMapper.toItemDtoWithBooking(
-                item, comments, booking1, booking2));
+                item, comments, toBookingMetaData(booking1), toBookingMetaData(booking2)));
         assertThat(response).isEqualTo(expected);
 
-        verify(userRepository, times(1)).findById(ownerId);
-        verify(itemRepository, times(1)).findAllByOwnerId(ownerId);
-        verify(commentRepository, times(1)).findAllByItemId(itemId);
-        verify(bookingRepository, times(1)).findAllByItemAndStatusOrderByStartDateAsc(item, BookingStatus.APPROVED);
+        verify(userExistenceCache, times(1)).exists(ownerId);
+        verify(itemRepository, times(1)).findAllByOwnerIdOrderByIdAsc(ownerId, OffsetPageRequest.of(0, 10));
+        verify(commentRepository, times(1)).findAllByItemIdIn(List.of(itemId));
+        verify(bookingRepository, times(1)).findLastBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository, times(1)).findNextBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
+        verify(commentRepository, never()).findAllByItemId(any());
+    }
+
+    @Test
+    void getAllUserItems_whenUserHasNoItems_shouldNotQueryCommentsAndBookings() {
+        Long ownerId = owner.getId();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, OffsetPageRequest.of(0, 10))).thenReturn(List.of());
+
+        Collection<ItemDtoWithBooking> response = itemService.getAllUserItems(ownerId, null, 0, 10);
+        assertThat(response).isEmpty();
+
+        verifyNoInteractions(commentRepository, bookingRepository);
+    }
+
+    @Test
+    void getAllUserItems_whenFromIsNotMultipleOfSize_shouldStartAtFrom() {
+        Long ownerId = owner.getId();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, OffsetPageRequest.of(3, 2))).thenReturn(List.of());
+
+        itemService.getAllUserItems(ownerId, null, 3, 2);
+
+        verify(itemRepository, times(1)).findAllByOwnerIdOrderByIdAsc(ownerId, OffsetPageRequest.of(3, 2));
+    }
+
+    @Test
+    void getAllUserItems_whenAfterIdIsGiven_shouldUseKeysetPage() {
+        Long itemId = item.getId();
+        Long ownerId = owner.getId();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, 99L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(item));
+        when(commentRepository.findAllByItemIdIn(List.of(itemId))).thenReturn(List.of());
+
+        Collection<ItemDtoWithBooking> response = itemService.getAllUserItems(ownerId, 99L, 0, 1);
+
+        assertThat(response).isEqualTo(List.of(ItemMapper.toItemDtoWithBooking(item, List.of())));
+        verify(commentRepository, times(1)).findAllByItemIdIn(List.of(itemId));
+        verify(bookingRepository, times(1)).findLastBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository, times(1)).findNextBookingsForItems(eq(List.of(itemId)), eq(BookingStatus.APPROVED), any());
+        verify(itemRepository, never()).findAllByOwnerIdOrderByIdAsc(anyLong(), any());
     }
 
     @Test
@@ -297,19 +370,18 @@ class ItemServiceImplTest {
         Long ownerId = item.getOwner().getId();
         String keyWord = "descr";
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(itemRepository.findAllByAvailableTrueAndDescriptionContainingIgnoreCase(keyWord))
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemSearchEngine.search(keyWord, 0, 10))
                 .thenReturn(List.of(item));
 
-        Collection<ItemDto> response = itemService.getAvailableItemsByKeyWord(ownerId, keyWord);
+        Collection<ItemDto> response = itemService.getAvailableItemsByKeyWord(ownerId, keyWord, 0, 10);
         assertThat(response)
                 .isNotNull()
                 .isNotEmpty()
                 .isEqualTo(List.of(itemDto));
 
-        verify(userRepository, times(1)).findById(ownerId);
-        verify(itemRepository, times(1))
-                .findAllByAvailableTrueAndDescriptionContainingIgnoreCase(keyWord);
+        verify(userExistenceCache, times(1)).exists(ownerId);
+        verify(itemSearchEngine, times(1)).search(keyWord, 0, 10);
     }
 
     @Test
@@ -353,4 +425,75 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(itemId);
         verify(bookingRepository, times(1)).findAllByUserBookings(any(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability_shouldReturnGapsBetweenBookings() {
+        Long ownerId = item.getOwner().getId();
+        Long itemId = item.getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        List<BookedInterval> busy = List.of(
+                new BookedInterval(1L, from.minusDays(1), from.plusDays(2)),
+                new BookedInterval(2L, from.plusDays(4), from.plusDays(5)));
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemAvailabilityCache.isLoaded(itemId)).thenReturn(true);
+        when(itemAvailabilityCache.findBusyIntervals(itemId, from, to)).thenReturn(busy);
+
+        ItemAvailabilityDto response = itemService.getItemAvailability(ownerId, itemId, from, to);
+
+        assertThat(response.getAvailable()).isFalse();
+        assertThat(response.getFreeSlots()).containsExactly(
+                new TimeSlotDto(from.plusDays(2), from.plusDays(4)),
+                new TimeSlotDto(from.plusDays(5), to));
+        verify(itemRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getItemAvailability_whenItemIsNotCachedAndDoesntExist_shouldThrowItemNotFoundException() {
+        Long ownerId = item.getOwner().getId();
+        Long itemId = item.getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemAvailabilityCache.isLoaded(itemId)).thenReturn(false);
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThatExceptionOfType(ItemNotFoundException.class)
+                .isThrownBy(() -> itemService.getItemAvailability(ownerId, itemId, from, from.plusDays(1)));
+
+        verify(itemAvailabilityCache, never()).findBusyIntervals(any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_whenFromIsNotBeforeTo_shouldThrowInvalidAvailabilityRangeException() {
+        Long ownerId = item.getOwner().getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThatExceptionOfType(InvalidAvailabilityRangeException.class)
+                .isThrownBy(() -> itemService.getItemAvailability(ownerId, item.getId(), from, from));
+
+        verifyNoInteractions(itemAvailabilityCache, itemRepository);
+    }
+
+    @Test
+    void getItemAvailability_whenUserDoesntExist_shouldThrowUserNotFoundException() {
+        Long userId = user.getId();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(userExistenceCache.exists(userId)).thenReturn(false);
+
+        assertThatExceptionOfType(UserNotFoundException.class)
+                .isThrownBy(() -> itemService.getItemAvailability(userId, item.getId(), from, from.plusDays(1)));
+
+        verifyNoInteractions(itemAvailabilityCache, itemRepository);
+    }
+
+    private BookingShortDto toBookingShortDto(Booking booking) {
+        return new BookingShortDto(booking.getItem().getId(), booking.getId(), booking.getBooker().getId());
+    }
+
+    private BookingMetaData toBookingMetaData(Booking booking) {
+        return ItemMapper.toBookingMetaData(toBookingShortDto(booking));
+    }
+}
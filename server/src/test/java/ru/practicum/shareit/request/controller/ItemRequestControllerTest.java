@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -122,7 +123,7 @@ class ItemRequestControllerTest {
                 .map(ItemRequestMapper::toItemRequestResponseDto)
                 .collect(Collectors.toList());
 
-        when(itemRequestService.getItemRequestFromOtherUsers(userId, from, size))
+        when(itemRequestService.getItemRequestFromOtherUsers(userId, null, null, from, size))
                 .thenReturn(expected);
 
         String response = mockMvc.perform(get("/requests/all")
@@ -138,7 +139,26 @@ class ItemRequestControllerTest {
         assertThat(response)
                 .isEqualTo(objectMapper.writeValueAsString(expected));
 
-        verify(itemRequestService, times(1)).getItemRequestFromOtherUsers(userId, from, size);
+        verify(itemRequestService, times(1)).getItemRequestFromOtherUsers(userId, null, null, from, size);
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemRequestFromOtherUsers_whenCursorIsGiven_shouldPassItToService() {
+        Long userId = fakeUser.getId();
+        LocalDateTime afterCreated = LocalDateTime.of(2023, 1, 1, 12, 0, 30);
+        Long afterId = 5L;
+
+        when(itemRequestService.getItemRequestFromOtherUsers(userId, afterCreated, afterId, 0, 10))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/requests/all")
+                        .header(USER_ID_HEADER, userId)
+                        .param("afterCreated", "2023-01-01T12:00:30")
+                        .param("afterId", String.valueOf(afterId)))
+                .andExpect(status().isOk());
+
+        verify(itemRequestService, times(1)).getItemRequestFromOtherUsers(userId, afterCreated, afterId, 0, 10);
     }
 
     @Test
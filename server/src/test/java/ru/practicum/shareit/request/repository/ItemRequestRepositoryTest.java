@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -102,8 +103,8 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    void findAllByRequester_IdNotOrderByCreatedDesc() {
-        List<ItemRequest> requests = itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDesc(user.getId(), PageRequest.of(0, 10));
+    void findOtherUsersRequests() {
+        List<ItemRequest> requests = itemRequestRepository.findOtherUsersRequests(user.getId(), PageRequest.of(0, 10));
 
         assertThat(
                 requests.stream()
@@ -114,4 +115,44 @@ class ItemRequestRepositoryTest {
                 .usingRecursiveAssertion()
                 .isEqualTo(List.of(itemRequest1, itemRequest3));
     }
+
+    @Test
+    void findOtherUsersRequests_shouldOrderByCreatedThenIdDescending() {
+        List<ItemRequest> requests = itemRequestRepository.findOtherUsersRequests(user.getId(), PageRequest.of(0, 10));
+
+        assertThat(requests)
+                .extracting(ItemRequest::getId)
+                .containsExactly(itemRequest3.getId(), itemRequest1.getId());
+    }
+
+    @Test
+    void findOtherUsersRequests_whenOffsetIsNotMultipleOfSize_shouldSkipExactlyFromRows() {
+        List<ItemRequest> requests = itemRequestRepository.findOtherUsersRequests(user.getId(), OffsetPageRequest.of(1, 10));
+
+        assertThat(requests)
+                .extracting(ItemRequest::getId)
+                .containsExactly(itemRequest1.getId());
+    }
+
+    @Test
+    void findOtherUsersRequestsBefore() {
+        LocalDateTime created = LocalDateTime.now().plusDays(1).withNano(0);
+        ItemRequest first = testEntityManager.persist(ItemRequest.builder()
+                .requester(owner)
+                .description("first")
+                .created(created)
+                .build());
+        ItemRequest second = testEntityManager.persist(ItemRequest.builder()
+                .requester(owner)
+                .description("second")
+                .created(created)
+                .build());
+
+        List<ItemRequest> requests = itemRequestRepository.findOtherUsersRequestsBefore(
+                user.getId(), second.getCreated(), second.getId(), PageRequest.of(0, 10));
+
+        assertThat(requests)
+                .extracting(ItemRequest::getId)
+                .containsExactly(first.getId(), itemRequest3.getId(), itemRequest1.getId());
+    }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -15,7 +17,9 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +36,12 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private ItemRepository itemRepository;
+
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
@@ -77,7 +87,7 @@ class ItemRequestServiceImplTest {
         Long userId = user.getId();
 
         Collection<ItemRequest> itemRequests = List.of(itemRequest);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterId(userId)).thenReturn(itemRequests);
 
         Collection<ItemRequestResponseDto> response = itemRequestService.getUserItemRequests(userId);
@@ -89,8 +99,9 @@ class ItemRequestServiceImplTest {
                         .map(ItemRequestMapper::toItemRequestResponseDto)
                         .collect(Collectors.toList()));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
+        verify(itemRepository, times(1)).findAllByRequestIdIn(any());
     }
 
     @Test
@@ -98,17 +109,17 @@ class ItemRequestServiceImplTest {
         Long userId = fakeUser.getId();
         Integer from = 0;
         Integer size = 10;
-        var pageable = PageRequest.of(from / size, size);
+        var pageable = OffsetPageRequest.of(from, size);
 
         List<ItemRequest> expectedItemRequests = List.of(itemRequest);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(fakeUser));
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository
-                .findAllByRequester_IdNotOrderByCreatedDesc(userId, pageable))
+                .findOtherUsersRequests(userId, pageable))
                 .thenReturn(expectedItemRequests);
 
         List<ItemRequestResponseDto> response = itemRequestService
-                .getItemRequestFromOtherUsers(userId, from, size);
+                .getItemRequestFromOtherUsers(userId, null, null, from, size);
 
         assertThat(response)
                 .isNotNull()
@@ -117,9 +128,30 @@ class ItemRequestServiceImplTest {
                         .map(ItemRequestMapper::toItemRequestResponseDto)
                         .collect(Collectors.toList()));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1))
-                .findAllByRequester_IdNotOrderByCreatedDesc(userId, pageable);
+                .findOtherUsersRequests(userId, pageable);
+        verify(itemRepository, times(1)).findAllByRequestIdIn(any());
+    }
+
+    @Test
+    void getItemRequestFromOtherUsers_whenCursorIsGiven_shouldUseKeysetPage() {
+        Long userId = fakeUser.getId();
+        LocalDateTime afterCreated = LocalDateTime.of(2023, 1, 1, 12, 0);
+        Long afterId = 5L;
+
+        when(userExistenceCache.exists(userId)).thenReturn(true);
+        when(itemRequestRepository
+                .findOtherUsersRequestsBefore(userId, afterCreated, afterId, PageRequest.of(0, 10)))
+                .thenReturn(List.of(itemRequest));
+
+        List<ItemRequestResponseDto> response = itemRequestService
+                .getItemRequestFromOtherUsers(userId, afterCreated, afterId, 30, 10);
+
+        assertThat(response)
+                .isEqualTo(List.of(ItemRequestMapper.toItemRequestResponseDto(itemRequest, List.of())));
+
+        verify(itemRequestRepository, never()).findOtherUsersRequests(anyLong(), any());
     }
 
     @Test
@@ -128,14 +160,14 @@ class ItemRequestServiceImplTest {
         Long requestId = 1L;
         itemRequest.setId(requestId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
 
         ItemRequestResponseDto response = itemRequestService.getItemRequestById(userId, requestId);
 
         assertThat(response).isEqualTo(ItemRequestMapper.toItemRequestResponseDto(itemRequest));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
     }
 
@@ -143,13 +175,13 @@ class ItemRequestServiceImplTest {
     void getItemRequestById_whenUserNotFound_throwsUserNotFoundException() {
         Long userId = user.getId();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         assertThatExceptionOfType(UserNotFoundException.class)
                 .isThrownBy(() -> itemRequestService.getItemRequestById(userId, anyLong()))
                 .withMessage("пользователь с id " + userId + " не существует");
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
     }
 
     @Test
@@ -158,14 +190,14 @@ class ItemRequestServiceImplTest {
         Long requestId = 1L;
         itemRequest.setId(requestId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
 
         assertThatExceptionOfType(ItemRequestNotFoundException.class)
                 .isThrownBy(() -> itemRequestService.getItemRequestById(userId, requestId))
                 .withMessage("Запрос вещи с id = " + requestId + " не был найден.");
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
     }
 }
\ No newline at end of file
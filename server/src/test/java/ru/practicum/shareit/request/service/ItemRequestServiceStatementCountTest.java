@@ -0,0 +1,115 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ItemRequestServiceImpl.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ItemRequestServiceStatementCountTest {
+
+    private static final int REQUESTS_PER_USER = 5;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @MockBean
+    private UserExistenceCache userExistenceCache;
+
+    private User requester;
+
+    private User answerer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        requester = testEntityManager.persist(User.builder()
+                .name("requester")
+                .email("requester@email.com")
+                .build());
+        answerer = testEntityManager.persist(User.builder()
+                .name("answerer")
+                .email("answerer@email.com")
+                .build());
+        User anotherRequester = testEntityManager.persist(User.builder()
+                .name("another")
+                .email("another@email.com")
+                .build());
+
+        for (int i = 0; i < REQUESTS_PER_USER; i++) {
+            persistRequestWithItems(requester, i);
+            persistRequestWithItems(anotherRequester, i);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        when(userExistenceCache.exists(anyLong())).thenReturn(true);
+
+        statistics = testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUserItemRequests_shouldLoadRequestsAndItemsInTwoStatements() {
+        Collection<ItemRequestResponseDto> response = itemRequestService.getUserItemRequests(requester.getId());
+
+        assertThat(response).hasSize(REQUESTS_PER_USER)
+                .allSatisfy(request -> assertThat(request.getItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getItemRequestFromOtherUsers_shouldLoadRequestsAndItemsInTwoStatements() {
+        Collection<ItemRequestResponseDto> response = itemRequestService
+                .getItemRequestFromOtherUsers(answerer.getId(), null, null, 0, 20);
+
+        assertThat(response).hasSize(REQUESTS_PER_USER * 2)
+                .allSatisfy(request -> assertThat(request.getItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private void persistRequestWithItems(User user, int index) {
+        ItemRequest itemRequest = testEntityManager.persist(ItemRequest.builder()
+                .requester(user)
+                .description("description " + index)
+                .created(LocalDateTime.now().plusMinutes(index))
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            testEntityManager.persist(Item.builder()
+                    .name("item " + index + "-" + i)
+                    .description("item description")
+                    .available(true)
+                    .owner(answerer)
+                    .request(itemRequest)
+                    .build());
+        }
+    }
+}
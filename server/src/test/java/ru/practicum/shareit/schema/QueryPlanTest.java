@@ -0,0 +1,324 @@
+package ru.practicum.shareit.schema;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что запросы репозиториев на заполненной схеме
+ * идут по индексам из миграций, а не полным сканированием таблиц (H2: tableScan).
+ * Проверяется SQL, который Hibernate действительно сгенерировал для метода
+ * репозитория, с теми же значениями параметров: выражение и параметры
+ * перехватываются через {@link RecordingDataSource}.
+ * <p>
+ * Не проверяются {@code BookingRepository.findAll()}, которому нужна вся таблица,
+ * и {@code ItemRepository.searchAvailable}: поиск подстроки {@code like '%text%'}
+ * не может идти по B-дереву, для него есть {@code InvertedIndexItemSearchEngine}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(QueryPlanTest.RecordingConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private static final List<Long> ITEM_IDS = List.of(1L, 2L, 3L);
+
+    private static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    @SneakyThrows
+    void seed() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (name, email) " +
+                    "SELECT 'user' || X, 'user' || X || '@email.com' FROM SYSTEM_RANGE(1, 200)");
+            statement.executeUpdate("INSERT INTO requests (description, requester_id, created) " +
+                    "SELECT 'request' || X, MOD(X, 200) + 1, DATEADD('MINUTE', X, TIMESTAMP '2030-01-01 00:00:00') " +
+                    "FROM SYSTEM_RANGE(1, 1000)");
+            statement.executeUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                    "SELECT 'item' || X, 'description' || X, TRUE, MOD(X, 200) + 1, " +
+                    "CASE WHEN MOD(X, 5) = 0 THEN MOD(X, 1000) + 1 END FROM SYSTEM_RANGE(1, 2000)");
+            statement.executeUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, booking_status) " +
+                    "SELECT DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00'), " +
+                    "DATEADD('HOUR', X + 2, TIMESTAMP '2030-01-01 00:00:00'), MOD(X, 2000) + 1, MOD(X * 7, 200) + 1, " +
+                    "CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'REJECTED' ELSE 'APPROVED' END " +
+                    "FROM SYSTEM_RANGE(1, 10000)");
+            statement.executeUpdate("INSERT INTO comments (text, item_id, author_id, created) " +
+                    "SELECT 'text' || X, MOD(X, 2000) + 1, MOD(X, 200) + 1, TIMESTAMP '2030-01-01 00:00:00' " +
+                    "FROM SYSTEM_RANGE(1, 4000)");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    @SneakyThrows
+    void cleanUp() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM comments");
+            statement.executeUpdate("DELETE FROM bookings");
+            statement.executeUpdate("DELETE FROM items");
+            statement.executeUpdate("DELETE FROM requests");
+            statement.executeUpdate("DELETE FROM users");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void migrations_shouldCreateQueryIndexes() {
+        List<String> indexes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IX\\_%'")) {
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString(1));
+            }
+        }
+
+        assertThat(indexes).containsExactlyInAnyOrder(
+                "IX_BOOKINGS_BOOKER_START",
+                "IX_BOOKINGS_ITEM_STATUS_START",
+                "IX_ITEMS_OWNER",
+                "IX_ITEMS_REQUEST",
+                "IX_COMMENTS_ITEM",
+                "IX_REQUESTS_REQUESTER_CREATED",
+                "IX_REQUESTS_CREATED_ID");
+    }
+
+    @Test
+    void bookingRepository_findAllBookingsForBookerByStatus() {
+        assertIndexed(() -> bookingRepository.findAllBookingsForBookerByStatus(7L, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findCurrentBookingsForBooker() {
+        assertIndexed(() -> bookingRepository.findCurrentBookingsForBooker(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findPastBookingsForBooker() {
+        assertIndexed(() -> bookingRepository.findPastBookingsForBooker(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findFutureBookingsForBooker() {
+        assertIndexed(() -> bookingRepository.findFutureBookingsForBooker(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findBookingsForBookerWithStatus() {
+        assertIndexed(() -> bookingRepository.findBookingsForBookerWithStatus(7L, BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findAllBookingsForOwner() {
+        assertIndexed(() -> bookingRepository.findAllBookingsForOwner(7L, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findCurrentBookingsForOwner() {
+        assertIndexed(() -> bookingRepository.findCurrentBookingsForOwner(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findPastBookingsForOwner() {
+        assertIndexed(() -> bookingRepository.findPastBookingsForOwner(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findFutureBookingsForOwner() {
+        assertIndexed(() -> bookingRepository.findFutureBookingsForOwner(7L, NOW, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findBookingsForOwnerWithStatus() {
+        assertIndexed(() -> bookingRepository.findBookingsForOwnerWithStatus(7L, BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    void bookingRepository_findByBookerId() {
+        assertIndexed(() -> bookingRepository.findByBookerId(7L));
+    }
+
+    @Test
+    void bookingRepository_findByItemId() {
+        assertIndexed(() -> bookingRepository.findByItemId(1L, Sort.by("startDate")));
+    }
+
+    @Test
+    void bookingRepository_findAllByUserBookings() {
+        assertIndexed(() -> bookingRepository.findAllByUserBookings(7L, 1L, NOW));
+    }
+
+    @Test
+    void bookingRepository_findLastBookingsForItems() {
+        assertIndexed(() -> bookingRepository.findLastBookingsForItems(ITEM_IDS, BookingStatus.APPROVED, NOW));
+    }
+
+    @Test
+    void bookingRepository_findNextBookingsForItems() {
+        assertIndexed(() -> bookingRepository.findNextBookingsForItems(ITEM_IDS, BookingStatus.APPROVED, NOW));
+    }
+
+    @Test
+    void bookingRepository_existsOverlappingBooking() {
+        assertIndexed(() -> bookingRepository.existsOverlappingBooking(1L, BUSY_STATUSES,
+                NOW, NOW.plusMonths(1)));
+    }
+
+    @Test
+    void bookingRepository_findBookedIntervals() {
+        assertIndexed(() -> bookingRepository.findBookedIntervals(1L, BUSY_STATUSES));
+    }
+
+    @Test
+    void bookingRepository_findStatusById() {
+        assertIndexed(() -> bookingRepository.findStatusById(1L));
+    }
+
+    @Test
+    void itemRepository_findByIdForUpdate() {
+        assertIndexed(() -> transactionTemplate.executeWithoutResult(status -> itemRepository.findByIdForUpdate(1L)));
+    }
+
+    @Test
+    void itemRepository_findAllByOwnerIdOrderByIdAsc() {
+        assertIndexed(() -> itemRepository.findAllByOwnerIdOrderByIdAsc(7L, PAGE));
+    }
+
+    @Test
+    void itemRepository_findAllByOwnerIdAndIdGreaterThanOrderByIdAsc() {
+        assertIndexed(() -> itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(7L, 1000L, PAGE));
+    }
+
+    @Test
+    void itemRepository_findAllByRequestIdIn() {
+        assertIndexed(() -> itemRepository.findAllByRequestIdIn(ITEM_IDS));
+    }
+
+    @Test
+    void commentRepository_findAllByItemId() {
+        assertIndexed(() -> commentRepository.findAllByItemId(1L));
+    }
+
+    @Test
+    void commentRepository_findAllByItemIdIn() {
+        assertIndexed(() -> commentRepository.findAllByItemIdIn(ITEM_IDS));
+    }
+
+    @Test
+    void itemRequestRepository_findAllByRequesterId() {
+        assertIndexed(() -> itemRequestRepository.findAllByRequesterId(7L));
+    }
+
+    @Test
+    void itemRequestRepository_findOtherUsersRequests() {
+        assertIndexed(() -> itemRequestRepository.findOtherUsersRequests(7L, PAGE));
+    }
+
+    @Test
+    void itemRequestRepository_findOtherUsersRequestsBefore() {
+        assertIndexed(() -> itemRequestRepository.findOtherUsersRequestsBefore(7L,
+                LocalDateTime.of(2030, 1, 1, 10, 0), 600L, PAGE));
+    }
+
+    /**
+     * Выполняет метод репозитория, перехватывает сгенерированные Hibernate выражения
+     * и проверяет план каждого из них с теми же значениями параметров.
+     */
+    @SneakyThrows
+    private void assertIndexed(Runnable repositoryCall) {
+        List<RecordingDataSource.RecordedStatement> statements = RecordingDataSource.record(repositoryCall);
+        assertThat(statements).as("выражения репозитория").isNotEmpty();
+
+        for (RecordingDataSource.RecordedStatement recorded : statements) {
+            String plan;
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("EXPLAIN " + recorded.getSql())) {
+                for (Map.Entry<Integer, Object> parameter : recorded.getParameters().entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    plan = resultSet.getString(1);
+                }
+            }
+
+            assertThat(plan)
+                    .as("query plan:%n%s", plan)
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource && !(bean instanceof RecordingDataSource)) {
+                        return new RecordingDataSource((DataSource) bean);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
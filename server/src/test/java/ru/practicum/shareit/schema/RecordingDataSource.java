@@ -0,0 +1,125 @@
+package ru.practicum.shareit.schema;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.Nullable;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Источник данных, который запоминает подготовленные выражения, выполненные
+ * в текущем потоке внутри {@link #record(Runnable)}, вместе со связанными параметрами.
+ */
+class RecordingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<RecordedStatement>> RECORDED = new ThreadLocal<>();
+
+    RecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    static List<RecordedStatement> record(Runnable action) {
+        List<RecordedStatement> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                        return wrap((PreparedStatement) result, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+
+                    if (isParameterSetter(method, args)) {
+                        parameters.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                    } else if (method.getName().equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (method.getName().startsWith("execute") && RECORDED.get() != null) {
+                        RECORDED.get().add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    // setFetchSize(int) и подобные настройки выражения имеют один аргумент
+    private static boolean isParameterSetter(Method method, @Nullable Object[] args) {
+        return method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer;
+    }
+
+    // Hibernate держит выражения в хэш-таблицах, поэтому прокси должен быть равен только самому себе
+    private static boolean isIdentityMethod(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+                || method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, @Nullable Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @RequiredArgsConstructor
+    static final class RecordedStatement {
+        @Getter
+        private final String sql;
+
+        // номер параметра -> значение, в порядке номеров
+        private final Map<Integer, Object> parameters;
+
+        Map<Integer, Object> getParameters() {
+            return Collections.unmodifiableMap(parameters);
+        }
+    }
+}
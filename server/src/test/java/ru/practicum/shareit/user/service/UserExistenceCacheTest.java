@@ -0,0 +1,96 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private UserExistenceCache userExistenceCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userExistenceCache = new UserExistenceCache(userRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void exists_whenUserIsCached_shouldNotQueryRepository() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(userExistenceCache.exists(1L)).isTrue();
+        assertThat(userExistenceCache.exists(1L)).isTrue();
+
+        verify(userRepository, times(1)).existsById(1L);
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void exists_whenUserNotFound_shouldNotCacheNegativeAnswer() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThat(userExistenceCache.exists(1L)).isFalse();
+        assertThat(userExistenceCache.exists(1L)).isFalse();
+
+        verify(userRepository, times(2)).existsById(1L);
+        assertThat(userExistenceCache.size()).isZero();
+    }
+
+    @Test
+    void evict_shouldForceRepositoryLookup() {
+        userExistenceCache.put(1L);
+        userExistenceCache.evict(1L);
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThat(userExistenceCache.exists(1L)).isFalse();
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void exists_whenEvictedDuringLookup_shouldNotCacheStaleAnswer() {
+        when(userRepository.existsById(1L)).thenAnswer(invocation -> {
+            userExistenceCache.evict(1L);
+            return true;
+        });
+
+        assertThat(userExistenceCache.exists(1L)).isTrue();
+
+        assertThat(userExistenceCache.size()).isZero();
+    }
+
+    @Test
+    void put_whenMaxSizeExceeded_shouldEvictLeastRecentlyUsed() {
+        userExistenceCache.put(1L);
+        userExistenceCache.put(2L);
+        userExistenceCache.exists(1L);
+        userExistenceCache.put(3L);
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        assertThat(userExistenceCache.size()).isEqualTo(2);
+        assertThat(userExistenceCache.exists(1L)).isTrue();
+        assertThat(userExistenceCache.exists(2L)).isFalse();
+        assertThat(meterRegistry.get("shareit.user.existence.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.user.existence.cache.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.user.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.dto.mapper.UserMapper;
@@ -26,6 +29,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -35,6 +41,13 @@ class UserServiceImplTest {
             .email("example@email.com")
             .build();
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void createUser() {
         User userToSave = User.builder()
@@ -49,6 +62,7 @@ class UserServiceImplTest {
         assertThat(actualUserDto).isEqualTo(userDto);
 
         verify(userRepository, times(1)).save(userToSave);
+        verify(userExistenceCache, times(1)).put(userToSave.getId());
     }
 
     @Test
@@ -122,6 +136,32 @@ class UserServiceImplTest {
         long userId = 0L;
         userService.deleteUserById(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userExistenceCache, times(1)).evict(userId);
+    }
+
+    @Test
+    void createUser_whenTransactionRollsBack_shouldNotCacheUser() {
+        User userToSave = UserMapper.toUser(userDto);
+        when(userRepository.save(any())).thenReturn(userToSave);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.createUser(userDto);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(userExistenceCache);
+    }
+
+    @Test
+    void deleteUserById_shouldEvictOnlyAfterCommit() {
+        long userId = 0L;
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.deleteUserById(userId);
+        verify(userExistenceCache, never()).evict(userId);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(userExistenceCache, times(1)).evict(userId);
     }
 
     @Test